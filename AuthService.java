@@ -0,0 +1,219 @@
+package dao;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import models.Admin;
+import models.Student;
+
+/**
+ * Password hashing and the login entry points. Passwords are stored as
+ * "pbkdf2$iterations$salt$hash" (PBKDF2-HMAC-SHA256, Base64 salt and hash).
+ * Accounts created before hashing still hold the plaintext; verify() accepts
+ * it, and the login DAOs replace it with a hash on the first successful login.
+ * Logins run on a small bounded pool, since each costs a deliberately slow
+ * hash: the UI gets a future, and a full queue fails the login as busy
+ * instead of piling up work. Before that, LoginGate rate-limits attempts and
+ * answers recently failed credentials from memory. Tune with
+ * exam.auth.pbkdf2Iterations (default 120000), exam.auth.threads (default 2)
+ * and exam.auth.queue (default 64).
+ */
+public final class AuthService {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2$";
+    private static final int ITERATIONS = Integer.getInteger("exam.auth.pbkdf2Iterations", 120_000);
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    private static final int THREADS = Integer.getInteger("exam.auth.threads", 2);
+    private static final int QUEUE = Integer.getInteger("exam.auth.queue", 64);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    // Verified against when the account does not exist, so unknown names cost as much as wrong passwords
+    private static final String DUMMY_HASH = hash("not-a-password");
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(THREADS, THREADS, 0L,
+            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE), r -> {
+                Thread t = new Thread(r, "auth-" + THREAD_IDS.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    private AuthService() {
+    }
+
+    /** Roles LoginGate keeps separate buckets and failure caches for. */
+    static final String STUDENT = "student";
+    static final String ADMIN = "admin";
+
+    /** Thrown through the future when a login is turned away: pool queue full or rate limited. */
+    public static final class BusyException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        BusyException(String message) {
+            super(message);
+        }
+    }
+
+    // Set on first use, only once their table checks reached the database; until
+    // then every login retries them
+    private static volatile StudentDAO students;
+    private static volatile AdminDAO admins;
+
+    private static StudentDAO students() throws SQLException {
+        StudentDAO dao = students;
+        if (dao == null) {
+            dao = new StudentDAO();
+            if (!dao.isTableReady())
+                throw new SQLException("Could not check the students table");
+            students = dao;
+        }
+        return dao;
+    }
+
+    private static AdminDAO admins() throws SQLException {
+        AdminDAO dao = admins;
+        if (dao == null) {
+            dao = new AdminDAO();
+            // Create admin table if it doesn't exist
+            if (!dao.createAdminTableIfNotExists())
+                throw new SQLException("Could not check the admins table");
+            admins = dao;
+        }
+        return dao;
+    }
+
+    /**
+     * Logs a student in by email or name; completes with null for bad
+     * credentials and with BusyException when LoginGate turns it away.
+     */
+    public static CompletableFuture<Student> loginStudent(String emailOrUsername, String password) {
+        return gated(STUDENT, emailOrUsername, password, () -> students().authenticate(emailOrUsername, password));
+    }
+
+    /** Logs an admin in by username, as loginStudent does. */
+    public static CompletableFuture<Admin> loginAdmin(String username, String password) {
+        return gated(ADMIN, username, password, () -> admins().authenticate(username, password));
+    }
+
+    public static LoginGate.Stats getLoginStats() {
+        return LoginGate.getStats();
+    }
+
+    private static <V> CompletableFuture<V> gated(String role, String handle, String password, Callable<V> login) {
+        switch (LoginGate.admit(role, handle, password)) {
+            case KNOWN_BAD:
+                return CompletableFuture.completedFuture(null);
+            case ACCOUNT_LIMITED:
+                return CompletableFuture.failedFuture(
+                        new BusyException("Too many login attempts for this account, please wait a minute"));
+            case GLOBAL_LIMITED:
+                return CompletableFuture.failedFuture(new BusyException("Too many logins in progress, please try again"));
+            default:
+                break;
+        }
+        CompletableFuture<V> result = submit(login);
+        // Database errors are neither successes nor failures; only a checked password is recorded
+        result.thenAccept(principal -> LoginGate.record(role, handle, password, principal != null));
+        return result;
+    }
+
+    private static <V> CompletableFuture<V> submit(Callable<V> login) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return login.call();
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, EXECUTOR);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new BusyException("Too many logins in progress, please try again"));
+        }
+    }
+
+    /** Hashes a password for storage with a fresh salt. */
+    public static String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        Base64.Encoder b64 = Base64.getEncoder();
+        return PREFIX + ITERATIONS + "$" + b64.encodeToString(salt) + "$"
+                + b64.encodeToString(pbkdf2(password, salt, ITERATIONS));
+    }
+
+    /** Hashes the password unless it is already in the stored format. */
+    public static String hashIfPlain(String password) {
+        return password == null || isHashed(password) ? password : hash(password);
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored.startsWith(PREFIX);
+    }
+
+    /**
+     * Checks a password against a stored value, hashed or legacy plaintext.
+     * A null stored value (no such account) still costs one hash.
+     */
+    public static boolean verify(String password, String stored) {
+        if (stored == null) {
+            verify(password, DUMMY_HASH);
+            return false;
+        }
+        if (!isHashed(stored))
+            return MessageDigest.isEqual(bytes(password), bytes(stored));
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4)
+            return false;
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, iterations));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /** True for plaintext or a hash weaker than the current iteration count. */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored))
+            return true;
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
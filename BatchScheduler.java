@@ -0,0 +1,369 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk scheduler behind SchedulingService.scheduleAllPending().
+ * Works in three phases so the database sees a handful of statements instead
+ * of one UPDATE per pending row:
+ * 1. one streaming read of every unscheduled student_exams row,
+ * 2. planning entirely in memory against the day calendars, one task per
+ * exam date when running in parallel,
+ * 3. batched UPDATEs, committed chunk by chunk.
+ */
+public final class BatchScheduler {
+
+    private BatchScheduler() {
+    }
+
+    public static final int DEFAULT_CHUNK_SIZE = Integer.getInteger("exam.scheduler.batchSize", 500);
+
+    private static final String SELECT_PENDING = "SELECT se.id AS se_id, se.status, e.exam_date, e.exam_time, "
+            + SchedulingService.DURATION_MINUTES_SQL + " AS duration_minutes "
+            + "FROM student_exams se JOIN exams e ON se.exam_id = e.id "
+            + "WHERE (se.scheduled_date IS NULL OR se.scheduled_time IS NULL OR se.room IS NULL) ORDER BY se.id";
+
+    private static final String SELECT_BOOKED = "SELECT se.scheduled_date, se.scheduled_time, se.room, "
+            + SchedulingService.DURATION_MINUTES_SQL + " AS duration_minutes "
+            + "FROM student_exams se JOIN exams e ON se.exam_id = e.id "
+            + "WHERE se.scheduled_date BETWEEN ? AND ? AND se.scheduled_time IS NOT NULL AND se.room IS NOT NULL";
+
+    private static final String UPDATE_ASSIGNMENT = "UPDATE student_exams SET scheduled_date=?, scheduled_time=?, room=?, "
+            + "status=CASE WHEN status='Pending' THEN 'Enrolled' ELSE status END WHERE id=?";
+
+    // Planning order packed into one long per row so sorting needs no objects.
+    // Same order the original heap polled in: date, longer exams first, base
+    // time, id (rows are read in id order, so the row index stands in for it).
+    // | day offset: 15 | 4095 - duration: 12 | base minute: 11 | row index: 25 |
+    private static final int INDEX_BITS = 25;
+    private static final int BASE_SHIFT = INDEX_BITS;
+    private static final int DURATION_SHIFT = BASE_SHIFT + 11;
+    private static final int DAY_SHIFT = DURATION_SHIFT + 12;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private static final int MAX_DAY_SPAN = 1 << 15;
+    private static final int MAX_DURATION_KEY = 4095;
+    // Anything longer than a day can never fit, so durations are capped here
+    private static final int DURATION_CAP = RoomDayCalendar.MINUTES_PER_DAY + 1;
+
+    /** How phase 2 walks the exam dates. Both produce the same plan. */
+    public enum PlanningMode {
+        SEQUENTIAL, PARALLEL
+    }
+
+    public static final PlanningMode DEFAULT_MODE = Runtime.getRuntime().availableProcessors() > 1
+            && !Boolean.getBoolean("exam.scheduler.sequential") ? PlanningMode.PARALLEL : PlanningMode.SEQUENTIAL;
+
+    public static BatchReport scheduleAllPending(int chunkSize) {
+        return scheduleAllPending(chunkSize, DEFAULT_MODE);
+    }
+
+    public static BatchReport scheduleAllPending(int chunkSize, PlanningMode mode) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("chunkSize must be positive");
+        BatchReport report = new BatchReport();
+        long start = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                return report;
+
+            PendingRows rows = loadPending(conn);
+            report.pending = rows.size;
+            if (rows.size == 0)
+                return report;
+
+            RoomDayCalendar[][] calendar = loadCalendar(conn, rows);
+            long[] order = plan(rows, calendar, mode, report);
+            write(conn, rows, order, chunkSize, report);
+            if (report.scheduled > 0)
+                StudentDashboardDAO.invalidateAll();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        } finally {
+            report.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(report);
+        }
+        return report;
+    }
+
+    // ---- Phase 1: read ----
+
+    private static PendingRows loadPending(Connection conn) throws SQLException {
+        PendingRows rows = new PendingRows();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_PENDING, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the whole result
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    java.sql.Date d = rs.getDate("exam_date");
+                    if (d == null)
+                        continue; // cannot schedule without date
+                    Time t = rs.getTime("exam_time");
+                    int base = t != null ? RoomDayCalendar.toMinute(t.toLocalTime())
+                            : SchedulingService.DAY_START_MINUTE;
+                    if (base < SchedulingService.DAY_START_MINUTE || base > SchedulingService.DAY_END_MINUTE)
+                        base = SchedulingService.DAY_START_MINUTE;
+                    int durationMinutes = rs.getInt("duration_minutes");
+                    rows.add(rs.getInt("se_id"), (int) d.toLocalDate().toEpochDay(), base,
+                            Math.max(0, Math.min(durationMinutes, DURATION_CAP)), "Pending".equals(rs.getString("status")));
+                }
+            }
+        }
+        if (rows.size > INDEX_MASK + 1)
+            throw new SQLException("Too many pending rows for one batch run: " + rows.size);
+        if (rows.maxDay - rows.minDay >= MAX_DAY_SPAN)
+            throw new SQLException("Pending exam dates span more than " + MAX_DAY_SPAN + " days");
+        return rows;
+    }
+
+    /**
+     * Loads already-booked intervals for every date the rows touch, in one
+     * query. Indexed by day offset from rows.minDay, then by ROOMS index; days
+     * without pending rows stay null.
+     */
+    private static RoomDayCalendar[][] loadCalendar(Connection conn, PendingRows rows) throws SQLException {
+        RoomDayCalendar[][] calendar = new RoomDayCalendar[rows.maxDay - rows.minDay + 1][];
+        for (int i = 0; i < rows.size; i++) {
+            int offset = rows.epochDay[i] - rows.minDay;
+            if (calendar[offset] == null)
+                calendar[offset] = SchedulingService.newRoomCalendars();
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_BOOKED, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            ps.setFetchSize(Integer.MIN_VALUE);
+            ps.setDate(1, java.sql.Date.valueOf(LocalDate.ofEpochDay(rows.minDay)));
+            ps.setDate(2, java.sql.Date.valueOf(LocalDate.ofEpochDay(rows.maxDay)));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int offset = (int) rs.getDate("scheduled_date").toLocalDate().toEpochDay() - rows.minDay;
+                    RoomDayCalendar[] day = calendar[offset];
+                    if (day == null)
+                        continue; // date in range but no pending row on it
+                    int room = SchedulingService.roomIndex(rs.getString("room"));
+                    if (room < 0)
+                        continue; // the planner only assigns ROOMS
+                    Time st = rs.getTime("scheduled_time");
+                    day[room].occupy(st.toLocalTime(), rs.getInt("duration_minutes"));
+                }
+            }
+        }
+        return calendar;
+    }
+
+    // ---- Phase 2: plan ----
+
+    /**
+     * Fills rows.startMinute/rows.room for every row and returns the sorted
+     * planning keys, which phase 3 also writes in.
+     */
+    private static long[] plan(PendingRows rows, RoomDayCalendar[][] calendar, PlanningMode mode,
+            BatchReport report) {
+        rows.startMinute = new short[rows.size];
+        rows.room = new byte[rows.size];
+        long[] keys = new long[rows.size];
+        for (int i = 0; i < rows.size; i++) {
+            keys[i] = (long) (rows.epochDay[i] - rows.minDay) << DAY_SHIFT
+                    | (long) (MAX_DURATION_KEY - rows.duration[i]) << DURATION_SHIFT
+                    | (long) rows.baseMinute[i] << BASE_SHIFT
+                    | i;
+        }
+        Arrays.sort(keys);
+
+        // Days never share rooms or intervals, so each run of equal day offsets is planned on its own
+        int[] runStart = new int[calendar.length + 1];
+        int runs = 0;
+        for (int k = 0; k < keys.length; k++) {
+            if (k == 0 || keys[k] >>> DAY_SHIFT != keys[k - 1] >>> DAY_SHIFT)
+                runStart[runs++] = k;
+        }
+        runStart[runs] = keys.length;
+
+        // Each run writes only its own rows' slots, so both modes produce the same plan
+        int[] fallbacks = new int[runs];
+        IntStream runIndexes = IntStream.range(0, runs);
+        if (mode == PlanningMode.PARALLEL && runs > 1)
+            runIndexes = runIndexes.parallel(); // common ForkJoinPool
+        runIndexes.forEach(r -> fallbacks[r] = planDay(rows, keys, runStart[r], runStart[r + 1],
+                calendar[(int) (keys[runStart[r]] >>> DAY_SHIFT)]));
+
+        for (int f : fallbacks)
+            report.fallbacks += f;
+        return keys;
+    }
+
+    /**
+     * Runs phase 2 alone over synthetic rows (row i across the arrays) against
+     * empty calendars, with no database, and returns the fallback count. Used
+     * by SchedulerBenchmark.
+     */
+    static int planInMemory(int[] epochDay, int[] baseMinute, int[] durationMinutes, PlanningMode mode) {
+        if (epochDay.length == 0)
+            return 0;
+        PendingRows rows = new PendingRows();
+        for (int i = 0; i < epochDay.length; i++)
+            rows.add(i, epochDay[i], baseMinute[i], Math.max(0, Math.min(durationMinutes[i], DURATION_CAP)), true);
+        RoomDayCalendar[][] calendar = new RoomDayCalendar[rows.maxDay - rows.minDay + 1][];
+        for (int i = 0; i < rows.size; i++) {
+            int offset = rows.epochDay[i] - rows.minDay;
+            if (calendar[offset] == null)
+                calendar[offset] = SchedulingService.newRoomCalendars();
+        }
+        BatchReport report = new BatchReport();
+        plan(rows, calendar, mode, report);
+        return report.fallbacks;
+    }
+
+    /** Plans keys[from, to), which all fall on one date; only touches that date's calendars. */
+    private static int planDay(PendingRows rows, long[] keys, int from, int to, RoomDayCalendar[] day) {
+        int fallbacks = 0;
+        for (int k = from; k < to; k++) {
+            int i = (int) (keys[k] & INDEX_MASK);
+            int duration = rows.duration[i];
+            int start = rows.baseMinute[i];
+            int room = 0;
+            int slot = SchedulingService.earliestFreeSlot(day, start, duration);
+            if (slot >= 0) {
+                start = SchedulingService.slotStart(slot);
+                room = SchedulingService.slotRoom(slot);
+            } else {
+                fallbacks++;
+            }
+            day[room].occupy(start, start + duration);
+            rows.startMinute[i] = (short) start;
+            rows.room[i] = (byte) room;
+        }
+        return fallbacks;
+    }
+
+    // ---- Phase 3: write ----
+
+    private static void write(Connection conn, PendingRows rows, long[] order, int chunkSize, BatchReport report)
+            throws SQLException {
+        // Back to java.sql types only here; one Date per day and one Time per minute
+        java.sql.Date[] dates = new java.sql.Date[rows.maxDay - rows.minDay + 1];
+        Time[] times = new Time[RoomDayCalendar.MINUTES_PER_DAY];
+        int[] scheduledPerDay = new int[dates.length];
+
+        boolean previousAutoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        int chunks = (order.length + chunkSize - 1) / chunkSize;
+        try (PreparedStatement upd = conn.prepareStatement(UPDATE_ASSIGNMENT)) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int from = chunk * chunkSize;
+                int to = Math.min(order.length, from + chunkSize);
+                try {
+                    for (int k = from; k < to; k++) {
+                        int i = (int) (order[k] & INDEX_MASK);
+                        int day = rows.epochDay[i] - rows.minDay;
+                        int minute = rows.startMinute[i];
+                        if (dates[day] == null)
+                            dates[day] = java.sql.Date.valueOf(LocalDate.ofEpochDay(rows.epochDay[i]));
+                        if (times[minute] == null)
+                            times[minute] = Time.valueOf(RoomDayCalendar.toTime(minute));
+                        upd.setDate(1, dates[day]);
+                        upd.setTime(2, times[minute]);
+                        upd.setString(3, SchedulingService.ROOMS[rows.room[i]]);
+                        upd.setInt(4, rows.studentExamId[i]);
+                        upd.addBatch();
+                    }
+                    int[] counts = upd.executeBatch();
+                    int scheduled = 0;
+                    int leftPending = 0;
+                    for (int c = 0; c < counts.length; c++) {
+                        if (counts[c] > 0 || counts[c] == Statement.SUCCESS_NO_INFO) {
+                            scheduled++;
+                            if (rows.pending[(int) (order[from + c] & INDEX_MASK)])
+                                leftPending++;
+                        }
+                    }
+                    SystemCounters.add(conn, SystemCounters.PENDING_ENROLLMENTS, -leftPending);
+                    conn.commit();
+                    report.scheduled += scheduled;
+                    for (int c = 0; c < counts.length; c++) {
+                        if (counts[c] > 0 || counts[c] == Statement.SUCCESS_NO_INFO)
+                            scheduledPerDay[(int) (order[from + c] >>> DAY_SHIFT)]++;
+                    }
+                    System.out.printf("Batch chunk %d/%d committed (%d rows)%n", chunk + 1, chunks, to - from);
+                } catch (SQLException e) {
+                    // Later chunks only add to the calendar, so they stay valid without this one
+                    conn.rollback();
+                    upd.clearBatch();
+                    report.failed += to - from;
+                    System.err.printf("Batch chunk %d/%d rolled back: %s%n", chunk + 1, chunks, e.getMessage());
+                }
+            }
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+            for (int d = 0; d < scheduledPerDay.length; d++)
+                if (scheduledPerDay[d] > 0)
+                    report.perDay.put(LocalDate.ofEpochDay(rows.minDay + d), scheduledPerDay[d]);
+        }
+    }
+
+    /**
+     * Pending rows as parallel primitive arrays (row i across all of them):
+     * dates as epoch days, times as minute of day. Phase 2 fills in the chosen
+     * start minute and ROOMS index.
+     */
+    private static final class PendingRows {
+        int size;
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        int[] studentExamId = new int[256];
+        int[] epochDay = new int[256];
+        short[] baseMinute = new short[256];
+        short[] duration = new short[256];
+        boolean[] pending = new boolean[256]; // status was 'Pending'; scheduling makes it 'Enrolled'
+        short[] startMinute;
+        byte[] room;
+
+        void add(int id, int day, int base, int durationMinutes, boolean isPending) {
+            if (size == studentExamId.length) {
+                int capacity = size * 2;
+                studentExamId = Arrays.copyOf(studentExamId, capacity);
+                epochDay = Arrays.copyOf(epochDay, capacity);
+                baseMinute = Arrays.copyOf(baseMinute, capacity);
+                duration = Arrays.copyOf(duration, capacity);
+                pending = Arrays.copyOf(pending, capacity);
+            }
+            studentExamId[size] = id;
+            epochDay[size] = day;
+            baseMinute[size] = (short) base;
+            duration[size] = (short) durationMinutes;
+            pending[size] = isPending;
+            size++;
+            minDay = Math.min(minDay, day);
+            maxDay = Math.max(maxDay, day);
+        }
+    }
+
+    /** Outcome of a batch run, with scheduled counts per exam day. */
+    public static class BatchReport {
+        public int pending;
+        public int scheduled;
+        public int fallbacks; // placed at the base time because no free room/slot was found
+        public int failed; // rows in rolled-back chunks
+        public long elapsedMillis;
+        public final Map<LocalDate, Integer> perDay = new TreeMap<>();
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("scheduleAllPending: %d pending, %d scheduled, %d fallback, %d failed in %d ms",
+                    pending, scheduled, fallbacks, failed, elapsedMillis));
+            for (Map.Entry<LocalDate, Integer> e : perDay.entrySet())
+                sb.append(String.format("%n  %s: %d", e.getKey(), e.getValue()));
+            return sb.toString();
+        }
+    }
+}
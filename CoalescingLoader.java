@@ -0,0 +1,101 @@
+package views;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+
+/**
+ * Refreshes a window's data off the EDT. The loader starts its queries with
+ * query(), which runs each on a small shared pool of daemon threads, and
+ * combines them into one future; the combined result is handed to the
+ * publisher on the EDT in one call, so the window repaints once per refresh.
+ * A request() made while a load is running does not start a second one: it
+ * marks the data stale, and a single follow-up load runs when the current one
+ * finishes, whose result replaces the stale one unpublished. request() and the
+ * callbacks run on the EDT.
+ */
+public final class CoalescingLoader<T> {
+
+    // Bounded so a slow database queues loads instead of exhausting the connection pool
+    private static final int THREADS = Integer.getInteger("exam.portal.loaderThreads", 4);
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(r, "portal-loader-" + THREAD_IDS.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Supplier<CompletableFuture<T>> loader;
+    private final Consumer<T> publisher;
+    private final Consumer<Throwable> onError;
+    private boolean running;
+    private boolean stale;
+    // Callbacks waiting for the next publish
+    private List<Runnable> waiting = new ArrayList<>();
+
+    public CoalescingLoader(Supplier<CompletableFuture<T>> loader, Consumer<T> publisher,
+            Consumer<Throwable> onError) {
+        this.loader = loader;
+        this.publisher = publisher;
+        this.onError = onError;
+    }
+
+    /** Runs one query on the shared loader threads. */
+    public static <V> CompletableFuture<V> query(Callable<V> query) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return query.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, EXECUTOR);
+    }
+
+    /** Loads and publishes fresh data, or marks the running load stale. */
+    public void request() {
+        request(null);
+    }
+
+    /** As request(), then runs afterPublish once data loaded after this call is on screen. */
+    public void request(Runnable afterPublish) {
+        if (afterPublish != null)
+            waiting.add(afterPublish);
+        if (running) {
+            stale = true;
+            return;
+        }
+        running = true;
+        stale = false;
+        List<Runnable> callbacks = waiting;
+        waiting = new ArrayList<>();
+        loader.get().whenComplete((value, error) -> SwingUtilities.invokeLater(() -> finished(value, error,
+                callbacks)));
+    }
+
+    private void finished(T value, Throwable error, List<Runnable> callbacks) {
+        running = false;
+        if (stale) {
+            // Someone asked for newer data mid-load; this result is not worth painting
+            waiting.addAll(0, callbacks);
+            request();
+            return;
+        }
+        if (error != null) {
+            onError.accept(error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                    : error);
+            return;
+        }
+        publisher.accept(value);
+        for (Runnable r : callbacks)
+            r.run();
+    }
+}
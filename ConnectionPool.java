@@ -0,0 +1,380 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded JDBC connection pool backing DatabaseConnection.getConnection().
+ * Callers keep their try-with-resources blocks: close() on a borrowed
+ * connection hands it back to the pool instead of closing the socket.
+ * Each physical connection keeps a StatementCache, so prepareStatement() on a
+ * borrowed connection reuses statements prepared by earlier borrowers, and
+ * statements left open are closed when the connection is returned.
+ */
+public final class ConnectionPool {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_SECONDS = 30;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long validateAfterIdleMs;
+    private final long leakThresholdMs;
+    private final int statementCacheSize;
+
+    // One permit per connection that may exist (idle or leased)
+    private final Semaphore permits;
+    private final Deque<IdleConnection> idle = new ArrayDeque<>(); // guarded by itself
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, long borrowTimeoutMs,
+            long idleTimeoutMs, long validateAfterIdleMs, long leakThresholdMs, int statementCacheSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive");
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validateAfterIdleMs = validateAfterIdleMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, HOUSEKEEPING_PERIOD_SECONDS,
+                HOUSEKEEPING_PERIOD_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout when the pool is
+     * exhausted. Idle connections are validated before being handed out.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed)
+            throw new SQLException("Connection pool is shut down");
+
+        long waitStart = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(borrowTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a pooled connection", e);
+        }
+        long waited = System.nanoTime() - waitStart;
+        if (!acquired) {
+            timeoutCount.incrementAndGet();
+            throw new SQLException("Timed out after " + borrowTimeoutMs + " ms waiting for a pooled connection ("
+                    + getStats() + ")");
+        }
+        borrowCount.incrementAndGet();
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+
+        try {
+            IdleConnection reused = takeIdle();
+            Connection physical;
+            StatementCache statements;
+            if (reused != null) {
+                physical = reused.connection;
+                statements = reused.statements;
+            } else {
+                physical = DriverManager.getConnection(url, user, password);
+                statements = new StatementCache(physical, statementCacheSize, statementCounters);
+                createdCount.incrementAndGet();
+            }
+            Lease lease = new Lease(physical, statements);
+            leased.add(lease);
+            return lease.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private IdleConnection takeIdle() {
+        while (true) {
+            IdleConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst(); // most recently returned first
+            }
+            if (candidate == null)
+                return null;
+            long idleFor = System.currentTimeMillis() - candidate.returnedAt;
+            if (idleFor < validateAfterIdleMs || isUsable(candidate.connection))
+                return candidate;
+            validationFailures.incrementAndGet();
+            closeQuietly(candidate.connection);
+        }
+    }
+
+    private static boolean isUsable(Connection c) {
+        try {
+            return c.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void giveBack(Lease lease) {
+        leased.remove(lease);
+        Connection physical = lease.physical;
+        lease.statements.release();
+        try {
+            boolean reusable = !closed && !physical.isClosed();
+            if (reusable) {
+                // Undo per-borrower state so the next caller gets a clean connection
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                synchronized (idle) {
+                    idle.addFirst(new IdleConnection(physical, lease.statements, System.currentTimeMillis()));
+                }
+            } else {
+                closeQuietly(physical);
+            }
+        } catch (SQLException e) {
+            closeQuietly(physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Idle eviction: drop connections nobody has needed for a while
+        synchronized (idle) {
+            Iterator<IdleConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                IdleConnection ic = it.next();
+                if (now - ic.returnedAt > idleTimeoutMs) {
+                    it.remove();
+                    evictedCount.incrementAndGet();
+                    closeQuietly(ic.connection);
+                }
+            }
+        }
+
+        // Leak detection: report each long-held connection once, with its borrow site
+        if (leakThresholdMs > 0) {
+            for (Lease lease : leased) {
+                if (!lease.leakReported && now - lease.borrowedAt > leakThresholdMs) {
+                    lease.leakReported = true;
+                    leakCount.incrementAndGet();
+                    System.err.println("⚠️ Possible connection leak: connection held for "
+                            + (now - lease.borrowedAt) / 1000 + " s without being closed");
+                    if (lease.borrowSite != null)
+                        lease.borrowSite.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes idle connections and stops housekeeping. Leased connections are
+     * closed as they are returned.
+     */
+    public void shutdown() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (IdleConnection ic : idle)
+                closeQuietly(ic.connection);
+            idle.clear();
+        }
+    }
+
+    public PoolStats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long borrows = borrowCount.get();
+        double avgWaitMs = borrows == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+        return new PoolStats(leased.size(), idleCount, maxSize, permits.getQueueLength(), borrows, avgWaitMs,
+                maxWaitNanos.get() / 1_000_000.0, createdCount.get(), evictedCount.get(),
+                validationFailures.get(), leakCount.get(), timeoutCount.get(), statementCounters.prepares.get(),
+                statementCounters.hits.get(), statementCounters.executions.get(), statementCounters.evictions.get(),
+                statementCounters.reclaimed.get());
+    }
+
+    private static void closeQuietly(Connection c) {
+        try {
+            c.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class IdleConnection {
+        final Connection connection;
+        final StatementCache statements;
+        final long returnedAt;
+
+        IdleConnection(Connection connection, StatementCache statements, long returnedAt) {
+            this.connection = connection;
+            this.statements = statements;
+            this.returnedAt = returnedAt;
+        }
+    }
+
+    /**
+     * One borrow of a physical connection. The proxy handed to callers routes
+     * close() back to the pool and refuses use after it has been returned.
+     */
+    private final class Lease implements InvocationHandler {
+        final Connection physical;
+        final StatementCache statements;
+        final long borrowedAt = System.currentTimeMillis();
+        final Throwable borrowSite;
+        final Connection proxy;
+        volatile boolean returned;
+        volatile boolean leakReported;
+
+        Lease(Connection physical, StatementCache statements) {
+            this.physical = physical;
+            this.statements = statements;
+            this.borrowSite = leakThresholdMs > 0 ? new Throwable("Connection borrowed here") : null;
+            this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, this);
+            statements.lease(proxy);
+        }
+
+        @Override
+        public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        giveBack(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || physical.isClosed();
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return "Pooled[" + physical + "]";
+                default:
+                    break;
+            }
+            if (returned)
+                throw new SQLException("Connection has already been returned to the pool");
+            if (method.getName().equals("prepareStatement") && cacheable(method.getParameterTypes()))
+                return statements.prepare((String) args[0], args.length > 1 ? (Integer) args[1] : 0,
+                        args.length > 2 ? (Integer) args[2] : 0, args.length - 1);
+            try {
+                Object result = method.invoke(physical, args);
+                if (result instanceof Statement)
+                    statements.track((Statement) result);
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    // prepareStatement(String), (String, int autoGeneratedKeys) and (String, int type, int concurrency)
+    private static boolean cacheable(Class<?>[] parameterTypes) {
+        for (int i = 1; i < parameterTypes.length; i++)
+            if (parameterTypes[i] != int.class)
+                return false;
+        return parameterTypes.length <= 3;
+    }
+
+    /** Immutable snapshot of pool metrics. */
+    public static final class PoolStats {
+        public final int active;
+        public final int idle;
+        public final int maxSize;
+        public final int waiting;
+        public final long borrows;
+        public final double avgWaitMillis;
+        public final double maxWaitMillis;
+        public final long created;
+        public final long evicted;
+        public final long validationFailures;
+        public final long leaks;
+        public final long timeouts;
+        public final long statementPrepares; // statements the database actually prepared
+        public final long statementCacheHits; // prepareStatement() calls served from a cache
+        public final long statementExecutions;
+        public final long statementEvictions;
+        public final long statementsReclaimed; // left open by a borrower, closed on return
+
+        PoolStats(int active, int idle, int maxSize, int waiting, long borrows, double avgWaitMillis,
+                double maxWaitMillis, long created, long evicted, long validationFailures, long leaks,
+                long timeouts, long statementPrepares, long statementCacheHits, long statementExecutions,
+                long statementEvictions, long statementsReclaimed) {
+            this.active = active;
+            this.idle = idle;
+            this.maxSize = maxSize;
+            this.waiting = waiting;
+            this.borrows = borrows;
+            this.avgWaitMillis = avgWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+            this.created = created;
+            this.evicted = evicted;
+            this.validationFailures = validationFailures;
+            this.leaks = leaks;
+            this.timeouts = timeouts;
+            this.statementPrepares = statementPrepares;
+            this.statementCacheHits = statementCacheHits;
+            this.statementExecutions = statementExecutions;
+            this.statementEvictions = statementEvictions;
+            this.statementsReclaimed = statementsReclaimed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "active=%d idle=%d max=%d waiting=%d borrows=%d avgWait=%.2fms maxWait=%.2fms created=%d evicted=%d invalid=%d leaks=%d timeouts=%d"
+                            + " prepares=%d cacheHits=%d executions=%d stmtEvictions=%d reclaimed=%d",
+                    active, idle, maxSize, waiting, borrows, avgWaitMillis, maxWaitMillis, created, evicted,
+                    validationFailures, leaks, timeouts, statementPrepares, statementCacheHits, statementExecutions,
+                    statementEvictions, statementsReclaimed);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package dao;
+
+import models.Exam;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Statistics for the admin dashboard cards. Totals that SystemCounters
+ * maintains are read from its table in one query; the rest are small queries
+ * on their own pooled connections, fanned out over a few worker threads, so
+ * the dashboard waits for the slowest metric instead of the sum of all of
+ * them. Call from a background thread, never from the EDT.
+ */
+public final class DashboardStatsService {
+
+    private DashboardStatsService() {
+    }
+
+    // Small on purpose: the pool is shared with the rest of the application
+    private static final int WORKERS = Integer.getInteger("exam.dashboard.workers", 4);
+
+    private static final AtomicInteger THREAD_IDS = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(WORKERS, r -> {
+        Thread t = new Thread(r, "dashboard-stats-" + THREAD_IDS.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private static final String TOTAL_STUDENTS = "SELECT COUNT(*) FROM students";
+    private static final String SCHEDULED_EXAMS = "SELECT COUNT(*) FROM exam_schedules";
+    private static final String TOTAL_ROOMS = "SELECT COUNT(*) FROM rooms";
+    // NOT EXISTS probes idx_es_room_date per room instead of materializing a NOT IN list
+    private static final String AVAILABLE_ROOMS = "SELECT COUNT(*) FROM rooms r WHERE NOT EXISTS "
+            + "(SELECT 1 FROM exam_schedules es WHERE es.room_id = r.id AND es.scheduled_date = CURDATE())";
+    private static final String PENDING_ENROLLMENTS = "SELECT COUNT(*) FROM student_exams WHERE status='Pending'";
+    private static final String COMPLETED_EXAMS = "SELECT COUNT(*) FROM exam_schedules WHERE scheduled_date < CURDATE()";
+    private static final String REVENUE = "SELECT COALESCE(SUM(amount),0) FROM payments";
+    private static final String PAID_ENROLLMENTS = "SELECT COUNT(*) FROM student_exams WHERE is_paid = 1";
+    private static final String ADMIN_USERS = "SELECT COUNT(*) FROM admins";
+
+    /** Runs every metric query and returns once all of them are in. */
+    public static DashboardStats load() throws SQLException {
+        long start = System.nanoTime();
+        Future<Map<String, Double>> countersFuture = EXECUTOR.submit(DashboardStatsService::readCounters);
+        Map<String, Future<Metric>> futures = new LinkedHashMap<>();
+        futures.put("totalRooms", submit(() -> count(TOTAL_ROOMS)));
+        futures.put("availableRooms", submit(() -> count(AVAILABLE_ROOMS)));
+        futures.put("completedExams", submit(() -> count(COMPLETED_EXAMS)));
+        futures.put("adminUsers", submit(() -> count(ADMIN_USERS)));
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        Map<String, Long> timings = new LinkedHashMap<>();
+        long c0 = System.nanoTime();
+        Map<String, Double> counters = awaitCounters(countersFuture);
+        timings.put("counters", System.nanoTime() - c0);
+        // Fall back to a live query for any counter this database has not initialized yet
+        fromCounter(values, timings, counters, "totalStudents", SystemCounters.STUDENTS, () -> count(TOTAL_STUDENTS));
+        fromCounter(values, timings, counters, "scheduledExams", SystemCounters.SCHEDULES, () -> count(SCHEDULED_EXAMS));
+        fromCounter(values, timings, counters, "pendingEnrollments", SystemCounters.PENDING_ENROLLMENTS,
+                () -> count(PENDING_ENROLLMENTS));
+        fromCounter(values, timings, counters, "totalRevenue", SystemCounters.REVENUE, DashboardStatsService::revenue);
+        for (Map.Entry<String, Future<Metric>> e : futures.entrySet()) {
+            Metric m = await(e.getKey(), e.getValue());
+            values.put(e.getKey(), m.value);
+            timings.put(e.getKey(), m.nanos);
+        }
+        return new DashboardStats(values, timings, System.nanoTime() - start);
+    }
+
+    private static Map<String, Double> readCounters() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            return SystemCounters.readAll(conn);
+        }
+    }
+
+    // A missing system_counters table (migration not applied) means no counters, not an error
+    private static Map<String, Double> awaitCounters(Future<Map<String, Double>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyMap();
+        } catch (ExecutionException e) {
+            System.err.println("⚠️ Counters unavailable, counting live: " + e.getCause().getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    private static void fromCounter(Map<String, Double> values, Map<String, Long> timings,
+            Map<String, Double> counters, String metric, String counter, Callable<Double> fallback)
+            throws SQLException {
+        Double value = counters.get(counter);
+        if (value != null) {
+            values.put(metric, value);
+            return;
+        }
+        Metric m = await(metric, submit(fallback));
+        values.put(metric, m.value);
+        timings.put(metric, m.nanos);
+    }
+
+    private static Future<Metric> submit(Callable<Double> query) {
+        return EXECUTOR.submit(() -> {
+            long t0 = System.nanoTime();
+            double value = query.call();
+            return new Metric(value, System.nanoTime() - t0);
+        });
+    }
+
+    private static Metric await(String name, Future<Metric> future) throws SQLException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while loading " + name, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException)
+                throw (SQLException) cause;
+            throw new SQLException("Failed to load " + name, cause);
+        }
+    }
+
+    private static double count(String sql) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            try (PreparedStatement ps = conn.prepareStatement(sql); ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getDouble(1) : 0;
+            }
+        }
+    }
+
+    // Prefer the payments table; older databases only have paid enrollments at the exam fee each
+    private static double revenue() throws SQLException {
+        try {
+            return count(REVENUE);
+        } catch (SQLException missingPaymentsTable) {
+            return count(PAID_ENROLLMENTS) * Exam.EXAM_FEE;
+        }
+    }
+
+    private static final class Metric {
+        final double value;
+        final long nanos;
+
+        Metric(double value, long nanos) {
+            this.value = value;
+            this.nanos = nanos;
+        }
+    }
+
+    /** Immutable snapshot of the dashboard cards, with how long each metric took. */
+    public static final class DashboardStats {
+        public final int totalStudents;
+        public final int scheduledExams;
+        public final int totalRooms;
+        public final int availableRooms;
+        public final int pendingEnrollments;
+        public final int completedExams;
+        public final double totalRevenue;
+        public final int adminUsers;
+        public final Map<String, Long> metricNanos;
+        public final long totalNanos;
+
+        DashboardStats(Map<String, Double> values, Map<String, Long> metricNanos, long totalNanos) {
+            this.totalStudents = values.get("totalStudents").intValue();
+            this.scheduledExams = values.get("scheduledExams").intValue();
+            this.totalRooms = values.get("totalRooms").intValue();
+            this.availableRooms = values.get("availableRooms").intValue();
+            this.pendingEnrollments = values.get("pendingEnrollments").intValue();
+            this.completedExams = values.get("completedExams").intValue();
+            this.totalRevenue = values.get("totalRevenue");
+            this.adminUsers = values.get("adminUsers").intValue();
+            this.metricNanos = Collections.unmodifiableMap(new LinkedHashMap<>(metricNanos));
+            this.totalNanos = totalNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Dashboard stats in %.2f ms:", totalNanos / 1_000_000.0));
+            for (Map.Entry<String, Long> e : metricNanos.entrySet())
+                sb.append(String.format(" %s=%.2fms", e.getKey(), e.getValue() / 1_000_000.0));
+            return sb.toString();
+        }
+    }
+}
@@ -1,44 +1,78 @@
-package dao;
-
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-
-public class DatabaseConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/exam_enrollment?useSSL=false&serverTimezone=UTC";
-    private static final String USER = "root";
-    private static final String PASSWORD = "";
-
-    static {
-        try {
-            // Try to load the MySQL JDBC Driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            System.out.println("✅ MySQL JDBC Driver loaded successfully!");
-        } catch (ClassNotFoundException e) {
-            System.out.println("❌ MySQL JDBC Driver not found! Make sure you added the MySQL Connector/J JAR file.");
-            e.printStackTrace();
-        }
-    }
-
-    public static Connection getConnection() {
-        try {
-            Connection connection = DriverManager.getConnection(URL, USER, PASSWORD);
-            System.out.println("✅ Connected to MySQL database successfully!");
-            return connection;
-        } catch (SQLException e) {
-            System.out.println("❌ Database connection failed: " + e.getMessage());
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    public static void main(String[] args) {
-        // Test the connection directly
-        Connection conn = getConnection();
-        if (conn != null) {
-            System.out.println("🎉 Database connection test successful!");
-        } else {
-            System.out.println("⚠️ Database connection is null!");
-        }
-    }
-}
+package dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class DatabaseConnection {
+    private static final String URL = "jdbc:mysql://localhost:3306/exam_enrollment?useSSL=false&serverTimezone=UTC&rewriteBatchedStatements=true&useServerPrepStmts=true";
+    private static final String USER = "root";
+    private static final String PASSWORD = "";
+
+    // Pool sizing; each can be overridden with -Dexam.db.pool.<name>=<value>
+    private static final int POOL_MAX_SIZE = Integer.getInteger("exam.db.pool.maxSize", 16);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("exam.db.pool.borrowTimeoutMs", 10_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("exam.db.pool.idleTimeoutMs", 300_000L);
+    private static final long POOL_VALIDATE_AFTER_IDLE_MS = Long.getLong("exam.db.pool.validateAfterIdleMs", 5_000L);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("exam.db.pool.leakThresholdMs", 60_000L);
+    // Prepared statements kept per connection; 0 prepares every statement afresh
+    private static final int POOL_STATEMENT_CACHE_SIZE = Integer.getInteger("exam.db.pool.statementCacheSize", 64);
+
+    private static final ConnectionPool POOL;
+
+    static {
+        try {
+            // Try to load the MySQL JDBC Driver
+            Class.forName("com.mysql.cj.jdbc.Driver");
+            System.out.println("✅ MySQL JDBC Driver loaded successfully!");
+        } catch (ClassNotFoundException e) {
+            System.out.println("❌ MySQL JDBC Driver not found! Make sure you added the MySQL Connector/J JAR file.");
+            e.printStackTrace();
+        }
+        POOL = new ConnectionPool(URL, USER, PASSWORD, POOL_MAX_SIZE, POOL_BORROW_TIMEOUT_MS,
+                POOL_IDLE_TIMEOUT_MS, POOL_VALIDATE_AFTER_IDLE_MS, POOL_LEAK_THRESHOLD_MS, POOL_STATEMENT_CACHE_SIZE);
+        Runtime.getRuntime().addShutdownHook(new Thread(POOL::shutdown, "db-pool-shutdown"));
+    }
+
+    /**
+     * Borrows a pooled connection. Closing it returns it to the pool. Returns
+     * null if no connection could be obtained.
+     */
+    public static Connection getConnection() {
+        try {
+            return POOL.borrow();
+        } catch (SQLException e) {
+            System.out.println("❌ Database connection failed: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Borrows a pooled connection like getConnection(), but throws instead of
+     * returning null, for callers that already handle SQLException.
+     */
+    public static Connection requireConnection() throws SQLException {
+        Connection conn = getConnection();
+        if (conn == null)
+            throw new SQLException("No database connection");
+        return conn;
+    }
+
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return POOL.getStats();
+    }
+
+    public static void main(String[] args) {
+        // Test the connection directly
+        try (Connection conn = getConnection()) {
+            if (conn != null) {
+                System.out.println("🎉 Database connection test successful!");
+            } else {
+                System.out.println("⚠️ Database connection is null!");
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        System.out.println("📊 Pool: " + getPoolStats());
+    }
+}
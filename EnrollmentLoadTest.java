@@ -0,0 +1,305 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enrollment load generator, run by hand against a local database like
+ * SeatReservationCheck, which reuses its run and checks:
+ *
+ * java dao.EnrollmentLoadTest [enrollments] [threads] [smart|center|mixed]
+ *
+ * Creates throwaway exams, then releases every enrollment at once from a fixed
+ * pool of threads, each on its own pooled connection and transaction, through
+ * scheduleAndEnrollExam() ("smart"), scheduleExamTestingCenter() ("center")
+ * or alternately both ("mixed", the default). The existing students are reused;
+ * when there are fewer students than enrollments each one enrolls in several
+ * of the test exams. Deadlocks and lock wait timeouts are rolled back and
+ * retried like a client would. Reports throughput, p50/p99 latency per
+ * scheduler and retry counts, then checks the test schedules for overbooked
+ * seats, double-booked rooms and students sitting two exams at once. Everything
+ * it created is deleted afterwards. Exits with status 1 on a violation.
+ */
+public final class EnrollmentLoadTest {
+
+    private EnrollmentLoadTest() {
+    }
+
+    private static final int MAX_RETRIES = 3;
+    // MySQL error codes for a deadlock victim and a lock wait timeout
+    private static final int ER_LOCK_DEADLOCK = 1213;
+    private static final int ER_LOCK_WAIT_TIMEOUT = 1205;
+
+    private static final String END_A = "ADDTIME(a.scheduled_time, SEC_TO_TIME(COALESCE(ea.duration_minutes, 120) * 60))";
+    private static final String END_B = "ADDTIME(b.scheduled_time, SEC_TO_TIME(COALESCE(eb.duration_minutes, 120) * 60))";
+
+    private enum Scheduler {
+        SMART, CENTER
+    }
+
+    public static void main(String[] args) throws Exception {
+        int enrollments = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        String mode = args.length > 2 ? args[2] : "mixed";
+        if (!mode.equals("smart") && !mode.equals("center") && !mode.equals("mixed")) {
+            System.err.println("❌ Scheduler must be smart, center or mixed");
+            System.exit(1);
+            return;
+        }
+
+        List<Integer> students = new ArrayList<>();
+        List<Integer> exams = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("❌ No database connection");
+                System.exit(1);
+                return;
+            }
+            int courseId;
+            try (Statement st = conn.createStatement()) {
+                try (ResultSet rs = st.executeQuery("SELECT id FROM students ORDER BY id LIMIT " + enrollments)) {
+                    while (rs.next())
+                        students.add(rs.getInt(1));
+                }
+                try (ResultSet rs = st.executeQuery("SELECT id FROM courses ORDER BY id LIMIT 1")) {
+                    courseId = rs.next() ? rs.getInt(1) : -1;
+                }
+            }
+            if (students.isEmpty() || courseId < 0) {
+                System.err.println("❌ Need at least one student and one course");
+                System.exit(1);
+                return;
+            }
+            int examCount = (enrollments + students.size() - 1) / students.size();
+            exams.addAll(createExams(conn, courseId, examCount));
+        }
+
+        boolean ok = false;
+        try {
+            ok = run(students, exams, enrollments, threads, mode);
+        } finally {
+            cleanUp(exams);
+            System.out.println("Pool: " + DatabaseConnection.getPoolStats());
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    /** Creates count two-hour exams with no schedules yet, for the run to schedule. */
+    static List<Integer> createExams(Connection conn, int courseId, int count) throws SQLException {
+        List<Integer> exams = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO exams (exam_name, course_id, duration, duration_minutes) VALUES (?, ?, '2 hours', 120)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < count; i++) {
+                ps.setString(1, "Load test " + System.currentTimeMillis() + "-" + i);
+                ps.setInt(2, courseId);
+                ps.executeUpdate();
+                try (ResultSet gk = ps.getGeneratedKeys()) {
+                    gk.next();
+                    exams.add(gk.getInt(1));
+                }
+            }
+        }
+        return exams;
+    }
+
+    /**
+     * Enrolls student k % students in exam k / students for each of the
+     * enrollments, then verifies the test schedules. Returns false on a
+     * violation.
+     */
+    static boolean run(List<Integer> students, List<Integer> exams, int enrollments, int threads,
+            String mode) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Scheduler[] scheduler = new Scheduler[enrollments];
+        long[] latencyNanos = new long[enrollments];
+        boolean[] succeeded = new boolean[enrollments];
+        AtomicInteger deadlocks = new AtomicInteger();
+        AtomicInteger lockTimeouts = new AtomicInteger();
+        AtomicInteger retries = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        for (int k = 0; k < enrollments; k++) {
+            int request = k;
+            int studentId = students.get(k % students.size());
+            int examId = exams.get(k / students.size());
+            scheduler[k] = mode.equals("smart") || (mode.equals("mixed") && k % 2 == 0) ? Scheduler.SMART
+                    : Scheduler.CENTER;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long t0 = System.nanoTime();
+                for (int attempt = 0; attempt <= MAX_RETRIES; attempt++) {
+                    try (Connection conn = DatabaseConnection.requireConnection()) {
+                        conn.setAutoCommit(false);
+                        try {
+                            if (scheduler[request] == Scheduler.SMART)
+                                SchedulingService.scheduleAndEnrollExam(studentId, examId, conn);
+                            else
+                                SchedulingService.scheduleExamTestingCenter(studentId, examId, conn);
+                            conn.commit();
+                            succeeded[request] = true;
+                            break;
+                        } catch (SQLException e) {
+                            conn.rollback();
+                            throw e;
+                        }
+                    } catch (SQLException e) {
+                        boolean deadlock = e.getErrorCode() == ER_LOCK_DEADLOCK || "40001".equals(e.getSQLState());
+                        boolean timeout = e.getErrorCode() == ER_LOCK_WAIT_TIMEOUT;
+                        if (deadlock)
+                            deadlocks.incrementAndGet();
+                        if (timeout)
+                            lockTimeouts.incrementAndGet();
+                        if ((deadlock || timeout) && attempt < MAX_RETRIES) {
+                            retries.incrementAndGet();
+                            continue;
+                        }
+                        failures.incrementAndGet();
+                        System.err.println("Enrollment of student " + studentId + " in exam " + examId + " failed: "
+                                + e.getMessage());
+                        break;
+                    }
+                }
+                latencyNanos[request] = System.nanoTime() - t0;
+            });
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.MINUTES))
+            System.err.println("⚠️ Load test timed out; unfinished enrollments are counted as failures");
+        double elapsedSeconds = (System.nanoTime() - t0) / 1e9;
+
+        int succeededCount = 0;
+        for (boolean s : succeeded)
+            if (s)
+                succeededCount++;
+        System.out.printf("%d enrollments (%d students, %d exams) on %d threads: %d succeeded, %d failed in %.2f s"
+                + " (%.1f enrollments/s)%n", enrollments, Math.min(students.size(), enrollments), exams.size(),
+                threads, succeededCount, failures.get(), elapsedSeconds, succeededCount / elapsedSeconds);
+        for (Scheduler s : Scheduler.values())
+            printLatencies(s, scheduler, latencyNanos, succeeded);
+        System.out.printf("Deadlocks %d, lock wait timeouts %d, retries %d%n", deadlocks.get(), lockTimeouts.get(),
+                retries.get());
+        return verify(exams);
+    }
+
+    private static void printLatencies(Scheduler s, Scheduler[] scheduler, long[] latencyNanos, boolean[] succeeded) {
+        List<Long> samples = new ArrayList<>();
+        for (int k = 0; k < scheduler.length; k++)
+            if (scheduler[k] == s && succeeded[k])
+                samples.add(latencyNanos[k]);
+        if (samples.isEmpty())
+            return;
+        Collections.sort(samples);
+        System.out.printf("  %-6s %5d ok  p50 %8.1f ms  p99 %8.1f ms  max %8.1f ms%n", s.name().toLowerCase(),
+                samples.size(), percentile(samples, 50) / 1e6, percentile(samples, 99) / 1e6,
+                samples.get(samples.size() - 1) / 1e6);
+    }
+
+    // Nearest-rank percentile of sorted samples
+    private static long percentile(List<Long> sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+        return sorted.get(Math.max(rank, 1) - 1);
+    }
+
+    static boolean verify(List<Integer> exams) throws SQLException {
+        String ids = inList(exams);
+        int overbooked;
+        int counterMismatches;
+        int roomClashes;
+        int studentClashes;
+        try (Connection conn = DatabaseConnection.requireConnection(); Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery("SELECT "
+                    + "SUM(CASE WHEN n > es.capacity THEN 1 ELSE 0 END), "
+                    + "SUM(CASE WHEN es.enrolled_count <> n OR es.seats_left <> es.capacity - n THEN 1 ELSE 0 END) "
+                    + "FROM exam_schedules es JOIN (SELECT exam_schedule_id, COUNT(*) AS n FROM student_exams "
+                    + "GROUP BY exam_schedule_id) c ON c.exam_schedule_id = es.id WHERE es.exam_id IN " + ids)) {
+                rs.next();
+                overbooked = rs.getInt(1);
+                counterMismatches = rs.getInt(2);
+            }
+            // Pairs of schedules sharing a room and overlapping in time, at least one of them a test schedule
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM exam_schedules a "
+                    + "JOIN exams ea ON ea.id = a.exam_id "
+                    + "JOIN exam_schedules b ON b.room_id = a.room_id AND b.scheduled_date = a.scheduled_date AND b.id > a.id "
+                    + "JOIN exams eb ON eb.id = b.exam_id "
+                    + "WHERE (a.exam_id IN " + ids + " OR b.exam_id IN " + ids + ") "
+                    + "AND a.scheduled_time < " + END_B + " AND b.scheduled_time < " + END_A)) {
+                rs.next();
+                roomClashes = rs.getInt(1);
+            }
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM student_exams sa "
+                    + "JOIN exam_schedules a ON a.id = sa.exam_schedule_id JOIN exams ea ON ea.id = a.exam_id "
+                    + "JOIN student_exams sb ON sb.student_id = sa.student_id AND sb.id > sa.id "
+                    + "JOIN exam_schedules b ON b.id = sb.exam_schedule_id AND b.scheduled_date = a.scheduled_date "
+                    + "JOIN exams eb ON eb.id = b.exam_id "
+                    + "WHERE (a.exam_id IN " + ids + " OR b.exam_id IN " + ids + ") "
+                    + "AND a.scheduled_time < " + END_B + " AND b.scheduled_time < " + END_A)) {
+                rs.next();
+                studentClashes = rs.getInt(1);
+            }
+        }
+
+        boolean ok = true;
+        if (overbooked > 0) {
+            System.err.println("❌ Overbooked: " + overbooked + " schedules hold more students than seats");
+            ok = false;
+        }
+        if (counterMismatches > 0) {
+            System.err.println("❌ Seat counters disagree with student_exams on " + counterMismatches + " schedules");
+            ok = false;
+        }
+        if (roomClashes > 0) {
+            System.err.println("❌ Room double-booked: " + roomClashes + " overlapping schedule pairs");
+            ok = false;
+        }
+        if (studentClashes > 0) {
+            System.err.println("❌ Students in two exams at once: " + studentClashes + " overlapping enrollment pairs");
+            ok = false;
+        }
+        if (ok)
+            System.out.println("✅ No overbooking, no double-booked rooms or students; counters consistent");
+        return ok;
+    }
+
+    /** Deletes the exams with their schedules and enrollments, and uncounts them. */
+    static void cleanUp(List<Integer> exams) throws SQLException {
+        if (exams.isEmpty())
+            return;
+        String ids = inList(exams);
+        try (Connection conn = DatabaseConnection.requireConnection(); Statement st = conn.createStatement()) {
+            int enrolled = st.executeUpdate("DELETE se FROM student_exams se JOIN exam_schedules es "
+                    + "ON es.id = se.exam_schedule_id WHERE es.exam_id IN " + ids);
+            // Both schedulers counted each of these as a paid enrollment and every new schedule
+            SystemCounters.add(conn, SystemCounters.PAID_ENROLLMENTS, -enrolled);
+            SystemCounters.add(conn, SystemCounters.SCHEDULES,
+                    -st.executeUpdate("DELETE FROM exam_schedules WHERE exam_id IN " + ids));
+            st.executeUpdate("DELETE FROM exams WHERE id IN " + ids);
+        }
+        OccupancyIndex.invalidate();
+        ReferenceDataCache.invalidateExams();
+    }
+
+    private static String inList(List<Integer> ids) {
+        return Arrays.toString(ids.toArray()).replace('[', '(').replace(']', ')');
+    }
+}
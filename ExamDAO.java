@@ -1,179 +1,250 @@
-package dao;
-
-import models.Exam;
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-
-public class ExamDAO {
-
-    // Get all exams (for admin)
-    public List<Exam> getAllExams() {
-        List<Exam> exams = new ArrayList<>();
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String sql = "SELECT * FROM exams ORDER BY exam_name";
-            Statement stmt = conn.createStatement();
-            ResultSet rs = stmt.executeQuery(sql);
-
-            while (rs.next()) {
-                exams.add(new Exam(
-                        rs.getInt("id"),
-                        rs.getString("exam_name"),
-                        rs.getInt("course_id"),
-                        rs.getString("duration")));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error fetching all exams: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return exams;
-    }
-
-    // Get exam by ID
-    public Exam getExamById(int examId) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String sql = "SELECT * FROM exams WHERE id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, examId);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new Exam(
-                        rs.getInt("id"),
-                        rs.getString("exam_name"),
-                        rs.getInt("course_id"),
-                        rs.getString("duration"));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error fetching exam by ID: " + e.getMessage());
-            e.printStackTrace();
-        }
-        return null;
-    }
-
-    // Add new exam
-    public boolean addExam(Exam exam) {
-        String sql = "INSERT INTO exams (exam_name, course_id, duration) VALUES (?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, exam.getName());
-            stmt.setInt(2, exam.getCourseId());
-            stmt.setString(3, exam.getDuration());
-
-            int result = stmt.executeUpdate();
-            return result > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error adding exam: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    // Update exam
-    public boolean updateExam(Exam exam) {
-        String sql = "UPDATE exams SET exam_name = ?, course_id = ?, duration = ? WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, exam.getName());
-            stmt.setInt(2, exam.getCourseId());
-            stmt.setString(3, exam.getDuration());
-            stmt.setInt(4, exam.getId());
-
-            int result = stmt.executeUpdate();
-            return result > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating exam: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    // Delete exam
-    public boolean deleteExam(int examId) {
-        String sql = "DELETE FROM exams WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, examId);
-
-            int result = stmt.executeUpdate();
-            return result > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error deleting exam: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    // Get available exams for student's course
-    public List<Exam> getAvailableExams(int courseId) {
-        List<Exam> exams = new ArrayList<>();
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String sql = "SELECT * FROM exams WHERE course_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, courseId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                exams.add(new Exam(
-                        rs.getInt("id"),
-                        rs.getString("exam_name"),
-                        rs.getString("duration")));
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return exams;
-    }
-
-    // Register student for an exam
-    public boolean registerExam(int studentId, int examId) {
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String sql = "INSERT INTO student_exams (student_id, exam_id, status) VALUES (?, ?, 'Pending')";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, studentId);
-            stmt.setInt(2, examId);
-            return stmt.executeUpdate() > 0;
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    // Get student's exams with status
-    public List<String> getStudentExamHistory(int studentId) {
-        List<String> history = new ArrayList<>();
-        try (Connection conn = DatabaseConnection.getConnection()) {
-            String sql = "SELECT e.exam_name, e.exam_date, se.status, se.score " +
-                    "FROM student_exams se " +
-                    "JOIN exams e ON se.exam_id = e.id " +
-                    "WHERE se.student_id = ?";
-            PreparedStatement stmt = conn.prepareStatement(sql);
-            stmt.setInt(1, studentId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                String record = rs.getString("exam_name") + " | " +
-                        rs.getDate("exam_date") + " | " +
-                        rs.getString("status") + " | Score: " +
-                        (rs.getObject("score") != null ? rs.getInt("score") : "N/A");
-                history.add(record);
-            }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return history;
-    }
-}
+package dao;
+
+import models.Exam;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ExamDAO {
+
+    // Get all exams (for admin)
+    public List<Exam> getAllExams() {
+        List<Exam> exams = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String sql = "SELECT * FROM exams ORDER BY exam_name";
+            Statement stmt = conn.createStatement();
+            ResultSet rs = stmt.executeQuery(sql);
+
+            while (rs.next()) {
+                exams.add(new Exam(
+                        rs.getInt("id"),
+                        rs.getString("exam_name"),
+                        rs.getInt("course_id"),
+                        rs.getString("duration")));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching all exams: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return exams;
+    }
+
+    // Columns the exam table can sort by
+    private static final Map<String, String> EXAM_SORTS = Map.of(
+            "id", "e.id",
+            "name", "e.exam_name",
+            "course", "COALESCE(c.name, 'Unknown')",
+            "duration", SchedulingService.DURATION_MINUTES_SQL);
+
+    /**
+     * Pages of exams with their course names for the exam management table,
+     * by name unless sortBy names one of EXAM_SORTS. A search keeps exams
+     * whose name starts with the text.
+     */
+    public KeysetPager<Exam> examPager(String sortBy, boolean descending, String search) {
+        KeysetPager<Exam> pager = new KeysetPager<>(
+                "e.id, e.exam_name, e.course_id, e.duration, COALESCE(c.name, 'Unknown') AS course_name",
+                "exams e LEFT JOIN courses c ON e.course_id = c.id",
+                new String[] { "e.exam_name", "e.id" }, null, "exams",
+                rs -> {
+                    Exam exam = new Exam(
+                            rs.getInt("id"),
+                            rs.getString("exam_name"),
+                            rs.getInt("course_id"),
+                            rs.getString("duration"));
+                    exam.setCourseName(rs.getString("course_name"));
+                    return exam;
+                });
+        return pager.sortedBy(KeysetPager.sortColumn(EXAM_SORTS, sortBy), descending)
+                .matching(search, "e.exam_name");
+    }
+
+    // Get exam by ID
+    public Exam getExamById(int examId) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String sql = "SELECT * FROM exams WHERE id = ?";
+            PreparedStatement stmt = conn.prepareStatement(sql);
+            stmt.setInt(1, examId);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return new Exam(
+                        rs.getInt("id"),
+                        rs.getString("exam_name"),
+                        rs.getInt("course_id"),
+                        rs.getString("duration"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching exam by ID: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    // Add new exam
+    public boolean addExam(Exam exam) {
+        String sql = "INSERT INTO exams (exam_name, course_id, duration, duration_minutes) VALUES (?, ?, ?, ?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, exam.getName());
+            stmt.setInt(2, exam.getCourseId());
+            stmt.setString(3, exam.getDuration());
+            stmt.setInt(4, durationMinutes(exam));
+
+            int result = stmt.executeUpdate();
+            if (result > 0) {
+                ExamSearchIndex.invalidate();
+                ReferenceDataCache.invalidateExams();
+            }
+            return result > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error adding exam: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Update exam
+    public boolean updateExam(Exam exam) {
+        String sql = "UPDATE exams SET exam_name = ?, course_id = ?, duration = ?, duration_minutes = ? WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, exam.getName());
+            stmt.setInt(2, exam.getCourseId());
+            stmt.setString(3, exam.getDuration());
+            stmt.setInt(4, durationMinutes(exam));
+            stmt.setInt(5, exam.getId());
+
+            int result = stmt.executeUpdate();
+            if (result > 0) {
+                ExamSearchIndex.invalidate();
+                ReferenceDataCache.invalidateExams();
+            }
+            return result > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error updating exam: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Parsed once here so the scheduler can read exams.duration_minutes directly
+    private static int durationMinutes(Exam exam) {
+        String duration = exam.getDuration();
+        return SchedulingService.parseDurationMinutes(duration != null ? duration : "2 hours");
+    }
+
+    // Delete exam; its schedules and exam_id enrollments go with it by cascade.
+    // Scheduler enrollments link through exam_schedule_id alone, which has no
+    // foreign key, so they are deleted here first.
+    public boolean deleteExam(int examId) {
+        String sql = "DELETE FROM exams WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement delEnrollments = conn.prepareStatement(
+                        "DELETE FROM student_exams WHERE exam_schedule_id IN (SELECT id FROM exam_schedules WHERE exam_id = ?)");
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, examId);
+            delEnrollments.setInt(1, examId);
+
+            // Counters drop with the deleted rows; an exception before commit() is
+            // rolled back when the pooled connection is returned
+            conn.setAutoCommit(false);
+            SystemCounters.beforeExamDelete(conn, examId);
+            delEnrollments.executeUpdate();
+            int result = stmt.executeUpdate();
+            conn.commit();
+            if (result > 0) {
+                ExamSearchIndex.invalidate();
+                ReferenceDataCache.invalidateExams();
+                // The deleted schedules no longer block their rooms
+                OccupancyIndex.invalidate();
+                StudentDashboardDAO.invalidateAll();
+            }
+            return result > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting exam: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Get available exams for student's course
+    public List<Exam> getAvailableExams(int courseId) {
+        List<Exam> exams = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String sql = "SELECT * FROM exams WHERE course_id = ?";
+            PreparedStatement stmt = conn.prepareStatement(sql);
+            stmt.setInt(1, courseId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                exams.add(new Exam(
+                        rs.getInt("id"),
+                        rs.getString("exam_name"),
+                        rs.getString("duration")));
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return exams;
+    }
+
+    // Register student for an exam
+    public boolean registerExam(int studentId, int examId) {
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String sql = "INSERT INTO student_exams (student_id, exam_id, status) VALUES (?, ?, 'Pending')";
+            PreparedStatement stmt = conn.prepareStatement(sql);
+            stmt.setInt(1, studentId);
+            stmt.setInt(2, examId);
+            conn.setAutoCommit(false);
+            boolean inserted = stmt.executeUpdate() > 0;
+            if (inserted)
+                SystemCounters.add(conn, SystemCounters.PENDING_ENROLLMENTS, 1);
+            conn.commit();
+            StudentDashboardDAO.invalidate(studentId);
+            return inserted;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Get student's exams with status
+    public List<String> getStudentExamHistory(int studentId) {
+        List<String> history = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            String sql = "SELECT e.exam_name, e.exam_date, se.status, se.score " +
+                    "FROM student_exams se " +
+                    "JOIN exams e ON se.exam_id = e.id " +
+                    "WHERE se.student_id = ?";
+            PreparedStatement stmt = conn.prepareStatement(sql);
+            stmt.setInt(1, studentId);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                String record = rs.getString("exam_name") + " | " +
+                        rs.getDate("exam_date") + " | " +
+                        rs.getString("status") + " | Score: " +
+                        (rs.getObject("score") != null ? rs.getInt("score") : "N/A");
+                history.add(record);
+            }
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return history;
+    }
+}
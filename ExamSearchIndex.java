@@ -0,0 +1,247 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import models.Exam;
+
+/**
+ * In-memory search over exam names for the student exam picker. Built from
+ * ExamDAO.getAllExams() and swapped in whole, so searches never block on a
+ * rebuild. Queries of three or more characters use a trigram index and match
+ * anywhere in the name; shorter ones match the start of a word through a
+ * sorted word list. Results are ranked exact match, then name prefix, then
+ * word prefix, then anywhere, each by name. ExamDAO invalidates it on change.
+ */
+public final class ExamSearchIndex {
+
+    private ExamSearchIndex() {
+    }
+
+    // Other clients write to the same database, so the index is rebuilt periodically
+    private static final long MAX_AGE_MS = 60_000L;
+
+    private static final String ENROLLED_EXAMS = "SELECT DISTINCT es.exam_id FROM student_exams se "
+            + "JOIN exam_schedules es ON se.exam_schedule_id = es.id WHERE se.student_id = ?";
+
+    private static volatile Snapshot snapshot;
+
+    /** One search hit; rank 0 is the best match. */
+    public static final class Result {
+        public final int examId;
+        public final String name;
+        public final boolean enrolled;
+        public final int rank;
+
+        Result(int examId, String name, boolean enrolled, int rank) {
+            this.examId = examId;
+            this.name = name;
+            this.enrolled = enrolled;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * Exams matching the text, best first, with whether the student is
+     * enrolled in each. Blank text returns every exam in id order. The
+     * enrolled flags come from one query for all of the student's exams.
+     */
+    public static List<Result> search(String text, int studentId) throws SQLException {
+        Snapshot s = current();
+        String query = normalize(text);
+        int[] hits;
+        int[] ranks;
+        if (query.isEmpty()) {
+            hits = s.byId;
+            ranks = new int[s.ids.length];
+        } else {
+            hits = query.length() >= 3 ? s.containing(query) : s.wordsStartingWith(query);
+            ranks = new int[s.ids.length];
+            for (int i : hits)
+                ranks[i] = s.rank(i, query);
+            Integer[] order = new Integer[hits.length];
+            for (int k = 0; k < hits.length; k++)
+                order[k] = hits[k];
+            Arrays.sort(order, (a, b) -> ranks[a] != ranks[b] ? Integer.compare(ranks[a], ranks[b])
+                    : s.lower[a].compareTo(s.lower[b]));
+            for (int k = 0; k < hits.length; k++)
+                hits[k] = order[k];
+        }
+        if (hits.length == 0)
+            return Collections.emptyList();
+
+        Set<Integer> enrolled = enrolledExamIds(studentId);
+        List<Result> results = new ArrayList<>(hits.length);
+        for (int i : hits)
+            results.add(new Result(s.ids[i], s.names[i], enrolled.contains(s.ids[i]), ranks[i]));
+        return results;
+    }
+
+    /** Forces a rebuild on the next search. */
+    public static void invalidate() {
+        snapshot = null;
+    }
+
+    private static Set<Integer> enrolledExamIds(int studentId) throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            try (PreparedStatement ps = conn.prepareStatement(ENROLLED_EXAMS)) {
+                ps.setInt(1, studentId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next())
+                        ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private static Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && System.currentTimeMillis() - s.builtAt <= MAX_AGE_MS)
+            return s;
+        synchronized (ExamSearchIndex.class) {
+            s = snapshot;
+            if (s == null || System.currentTimeMillis() - s.builtAt > MAX_AGE_MS) {
+                s = new Snapshot(new ExamDAO().getAllExams());
+                snapshot = s;
+            }
+            return s;
+        }
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static final class Snapshot {
+        final long builtAt = System.currentTimeMillis();
+        final int[] ids;
+        final String[] names;
+        final String[] lower;
+        final int[] byId;
+        // Every word of every name, sorted, with the exam it came from
+        final String[] words;
+        final int[] wordExam;
+        final Map<String, int[]> trigrams = new HashMap<>();
+
+        Snapshot(List<Exam> exams) {
+            int n = exams.size();
+            ids = new int[n];
+            names = new String[n];
+            lower = new String[n];
+            List<String> wordList = new ArrayList<>();
+            List<Integer> wordOwner = new ArrayList<>();
+            Map<String, List<Integer>> postings = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                Exam exam = exams.get(i);
+                ids[i] = exam.getId();
+                names[i] = exam.getExamName() != null ? exam.getExamName() : "";
+                lower[i] = normalize(names[i]);
+                for (String word : lower[i].split(" "))
+                    if (!word.isEmpty()) {
+                        wordList.add(word);
+                        wordOwner.add(i);
+                    }
+                for (int k = 0; k + 3 <= lower[i].length(); k++) {
+                    List<Integer> list = postings.computeIfAbsent(lower[i].substring(k, k + 3),
+                            t -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != i)
+                        list.add(i);
+                }
+            }
+
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++)
+                order[i] = i;
+            Arrays.sort(order, (a, b) -> Integer.compare(ids[a], ids[b]));
+            byId = new int[n];
+            for (int i = 0; i < n; i++)
+                byId[i] = order[i];
+
+            Integer[] wordOrder = new Integer[wordList.size()];
+            for (int k = 0; k < wordOrder.length; k++)
+                wordOrder[k] = k;
+            Arrays.sort(wordOrder, (a, b) -> wordList.get(a).compareTo(wordList.get(b)));
+            words = new String[wordOrder.length];
+            wordExam = new int[wordOrder.length];
+            for (int k = 0; k < wordOrder.length; k++) {
+                words[k] = wordList.get(wordOrder[k]);
+                wordExam[k] = wordOwner.get(wordOrder[k]);
+            }
+            for (Map.Entry<String, List<Integer>> e : postings.entrySet())
+                trigrams.put(e.getKey(), e.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        // Intersects the postings of every trigram in the query, then confirms the substring
+        int[] containing(String query) {
+            int[] candidates = null;
+            for (int k = 0; k + 3 <= query.length(); k++) {
+                int[] posting = trigrams.get(query.substring(k, k + 3));
+                if (posting == null)
+                    return new int[0];
+                candidates = candidates == null ? posting : intersect(candidates, posting);
+                if (candidates.length == 0)
+                    return candidates;
+            }
+            int count = 0;
+            int[] hits = new int[candidates.length];
+            for (int i : candidates)
+                if (lower[i].contains(query))
+                    hits[count++] = i;
+            return Arrays.copyOf(hits, count);
+        }
+
+        int[] wordsStartingWith(String prefix) {
+            int from = Arrays.binarySearch(words, prefix);
+            if (from < 0)
+                from = -from - 1;
+            Set<Integer> seen = new HashSet<>();
+            int[] hits = new int[wordExam.length];
+            int count = 0;
+            for (int k = from; k < words.length && words[k].startsWith(prefix); k++)
+                if (seen.add(wordExam[k]))
+                    hits[count++] = wordExam[k];
+            return Arrays.copyOf(hits, count);
+        }
+
+        int rank(int i, String query) {
+            if (lower[i].equals(query))
+                return 0;
+            if (lower[i].startsWith(query))
+                return 1;
+            if (lower[i].contains(" " + query))
+                return 2;
+            return 3;
+        }
+
+        private static int[] intersect(int[] a, int[] b) {
+            int[] out = new int[Math.min(a.length, b.length)];
+            int i = 0, j = 0, count = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j])
+                    i++;
+                else if (a[i] > b[j])
+                    j++;
+                else {
+                    out[count++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(out, count);
+        }
+    }
+}
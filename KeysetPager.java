@@ -0,0 +1,257 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a large listing one page at a time by keyset ("seek") pagination: each
+ * page continues strictly after the sort key of the previous page's last row,
+ * so the database seeks into the ORDER BY index instead of skipping OFFSET
+ * rows, and every page costs the same no matter how deep it is. The key
+ * columns must end with a unique column (normally the id) so the order is
+ * total. Each call takes its own pooled connection.
+ *
+ * sortedBy() and matching() return copies that sort by another column or keep
+ * only rows whose search columns start with some text, so sorting and
+ * filtering happen in the query and only the visible page comes back.
+ */
+public final class KeysetPager<T> {
+
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /** One page of rows and the key to continue after; lastKey is null for an empty page. */
+    public static final class Page<T> {
+        public final List<T> rows;
+        public final Object[] lastKey;
+
+        Page(List<T> rows, Object[] lastKey) {
+            this.rows = Collections.unmodifiableList(rows);
+            this.lastKey = lastKey;
+        }
+    }
+
+    private final String select;
+    private final String from;
+    private final String[] keyColumns;
+    private final String counterName;
+    private final String table;
+    private final RowMapper<T> mapper;
+    private final boolean descending;
+    private final String where;
+    private final List<Object> whereParams;
+
+    /**
+     * @param select      the SELECT list, without the keyword
+     * @param from        the FROM clause with its joins, without the keyword
+     * @param keyColumns  ORDER BY expressions, ending with a unique column
+     * @param counterName the SystemCounters total used as the row estimate, or null
+     * @param table       the table whose statistics estimate the rows otherwise
+     */
+    public KeysetPager(String select, String from, String[] keyColumns, String counterName, String table,
+            RowMapper<T> mapper) {
+        this(select, from, keyColumns.clone(), counterName, table, mapper, false, null, List.of());
+    }
+
+    private KeysetPager(String select, String from, String[] keyColumns, String counterName, String table,
+            RowMapper<T> mapper, boolean descending, String where, List<Object> whereParams) {
+        this.select = select;
+        this.from = from;
+        this.keyColumns = keyColumns;
+        this.counterName = counterName;
+        this.table = table;
+        this.mapper = mapper;
+        this.descending = descending;
+        this.where = where;
+        this.whereParams = whereParams;
+    }
+
+    /**
+     * A copy ordered by the given expression, ties broken by the unique last
+     * key column. A null column keeps the current order and only sets the
+     * direction. Pass only expressions from a fixed whitelist, never user text.
+     */
+    public KeysetPager<T> sortedBy(String column, boolean descending) {
+        String[] keys = column == null ? keyColumns
+                : new String[] { column, keyColumns[keyColumns.length - 1] };
+        return new KeysetPager<>(select, from, keys, counterName, table, mapper, descending, where, whereParams);
+    }
+
+    /**
+     * A copy keeping only rows where one of the columns starts with the text
+     * (LIKE 'text%', which can use an index on the column). Blank text returns
+     * this pager unchanged.
+     */
+    public KeysetPager<T> matching(String text, String... columns) {
+        if (text == null || text.isBlank())
+            return this;
+        String pattern = likePrefix(text.trim());
+        List<String> terms = new ArrayList<>();
+        List<Object> params = new ArrayList<>(whereParams);
+        for (String column : columns) {
+            terms.add(column + " LIKE ?");
+            params.add(pattern);
+        }
+        String filter = "(" + String.join(" OR ", terms) + ")";
+        return new KeysetPager<>(select, from, keyColumns, counterName, table, mapper, descending,
+                where == null ? filter : where + " AND " + filter, Collections.unmodifiableList(params));
+    }
+
+    /** Looks up a sort expression by the name a table column uses; null stays null. */
+    public static String sortColumn(Map<String, String> sortable, String name) {
+        if (name == null)
+            return null;
+        String column = sortable.get(name);
+        if (column == null)
+            throw new IllegalArgumentException("Cannot sort by " + name);
+        return column;
+    }
+
+    /** Up to limit rows after the given key, in key order; a null key starts at the first row. */
+    public Page<T> after(Object[] afterKey, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT ").append(select);
+        for (int i = 0; i < keyColumns.length; i++)
+            sql.append(", ").append(keyColumns[i]).append(" AS k").append(i);
+        sql.append(" FROM ").append(from);
+        List<Object> params = new ArrayList<>(whereParams);
+        List<String> conditions = new ArrayList<>();
+        if (where != null)
+            conditions.add(where);
+        if (afterKey != null)
+            conditions.add(seekPredicate(afterKey, params));
+        if (!conditions.isEmpty())
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        sql.append(" ORDER BY ").append(orderBy()).append(" LIMIT ?");
+        params.add(limit);
+
+        List<T> rows = new ArrayList<>(limit);
+        Object[] lastKey = null;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            try (PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+                bind(ps, params);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(mapper.map(rs));
+                        lastKey = readKey(rs);
+                    }
+                }
+            }
+        }
+        return new Page<>(rows, lastKey);
+    }
+
+    /**
+     * Key of the row at a zero-based position, or null past the end. Used only
+     * to jump into a page nothing has been read before; this one query pays the
+     * OFFSET scan, over the key columns alone.
+     */
+    public Object[] keyAt(int offset) throws SQLException {
+        String sql = "SELECT " + String.join(", ", keyColumns) + " FROM " + from
+                + (where == null ? "" : " WHERE " + where)
+                + " ORDER BY " + orderBy() + " LIMIT 1 OFFSET ?";
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                bind(ps, whereParams);
+                ps.setInt(whereParams.size() + 1, offset);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next())
+                        return null;
+                    Object[] key = new Object[keyColumns.length];
+                    for (int i = 0; i < key.length; i++)
+                        key[i] = rs.getObject(i + 1);
+                    return key;
+                }
+            }
+        }
+    }
+
+    /**
+     * A cheap row-count estimate for sizing the scrollbar: the maintained
+     * counter when there is one, otherwise the table statistics. Callers
+     * correct it once they read past the real end. A filtered pager has no
+     * cheap estimate and returns 0, so the table grows as pages arrive.
+     */
+    public int estimateCount() throws SQLException {
+        if (where != null)
+            return 0;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            if (counterName != null) {
+                try {
+                    Double value = SystemCounters.readAll(conn).get(counterName);
+                    if (value != null)
+                        return value.intValue();
+                } catch (SQLException noCountersTable) {
+                    // Fall through to the table statistics
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement("SELECT TABLE_ROWS FROM information_schema.TABLES "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?")) {
+                ps.setString(1, table);
+                try (ResultSet rs = ps.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        }
+    }
+
+    private String orderBy() {
+        String direction = descending ? " DESC" : "";
+        List<String> terms = new ArrayList<>();
+        for (String column : keyColumns)
+            terms.add(column + direction);
+        return String.join(", ", terms);
+    }
+
+    // (k0 > ?) for one column; otherwise k0 >= ? AND (k0 > ? OR (k0 = ? AND (k1 > ? OR ...))),
+    // where the leading k0 >= ? gives the optimizer a range on the first index column.
+    // Descending order flips every comparison.
+    private String seekPredicate(Object[] key, List<Object> params) {
+        String after = descending ? " < ?" : " > ?";
+        if (keyColumns.length == 1) {
+            params.add(key[0]);
+            return keyColumns[0] + after;
+        }
+        params.add(key[0]);
+        return keyColumns[0] + (descending ? " <= ?" : " >= ?") + " AND " + seekFrom(0, key, params, after);
+    }
+
+    private String seekFrom(int i, Object[] key, List<Object> params, String after) {
+        params.add(key[i]);
+        if (i == keyColumns.length - 1)
+            return keyColumns[i] + after;
+        params.add(key[i]);
+        return "(" + keyColumns[i] + after + " OR (" + keyColumns[i] + " = ? AND "
+                + seekFrom(i + 1, key, params, after) + "))";
+    }
+
+    // Escapes LIKE wildcards in user text and appends the prefix wildcard
+    private static String likePrefix(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private Object[] readKey(ResultSet rs) throws SQLException {
+        Object[] key = new Object[keyColumns.length];
+        for (int i = 0; i < key.length; i++)
+            key[i] = rs.getObject("k" + i);
+        return key;
+    }
+
+    private static void bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++)
+            ps.setObject(i + 1, params.get(i));
+    }
+}
@@ -0,0 +1,213 @@
+package dao;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Admission control in front of the login DAOs, so retry storms and
+ * credential stuffing are turned away before they reach the database or the
+ * hashing pool. An attempt is checked, in order, against:
+ * <ul>
+ * <li>a negative cache of handle/password pairs that failed in the last
+ * exam.auth.negativeTtlMs (default 10000), answered as bad credentials
+ * without a query;</li>
+ * <li>a token bucket per account, exam.auth.accountBurst attempts (default 5)
+ * refilled at exam.auth.accountPerMinute (default 10);</li>
+ * <li>a global token bucket, exam.auth.globalBurst (default 100) refilled at
+ * exam.auth.globalPerSecond (default 50).</li>
+ * </ul>
+ * Buckets are lock-free (one CAS per attempt). Failed passwords are kept only
+ * as an HMAC under a key that lives in memory for the life of the process.
+ */
+public final class LoginGate {
+
+    /** What to do with a login attempt. */
+    enum Decision {
+        ADMIT, KNOWN_BAD, ACCOUNT_LIMITED, GLOBAL_LIMITED
+    }
+
+    private static final long NEGATIVE_TTL_MS = Long.getLong("exam.auth.negativeTtlMs", 10_000L);
+    private static final int ACCOUNT_BURST = Integer.getInteger("exam.auth.accountBurst", 5);
+    private static final int ACCOUNT_PER_MINUTE = Integer.getInteger("exam.auth.accountPerMinute", 10);
+    private static final int GLOBAL_BURST = Integer.getInteger("exam.auth.globalBurst", 100);
+    private static final int GLOBAL_PER_SECOND = Integer.getInteger("exam.auth.globalPerSecond", 50);
+    // Past this many tracked accounts, buckets that have refilled completely are dropped
+    private static final int MAX_TRACKED = Integer.getInteger("exam.auth.maxTrackedAccounts", 10_000);
+
+    private static final TokenBucket GLOBAL = new TokenBucket(GLOBAL_BURST, 1_000_000_000L / GLOBAL_PER_SECOND);
+    private static final Map<String, TokenBucket> ACCOUNTS = new ConcurrentHashMap<>();
+    private static final Map<String, Long> FAILED = new ConcurrentHashMap<>(); // credential key -> expiry
+    private static final byte[] HMAC_KEY = new byte[32];
+
+    static {
+        new SecureRandom().nextBytes(HMAC_KEY);
+    }
+
+    private static final AtomicLong ATTEMPTS = new AtomicLong();
+    private static final AtomicLong ADMITTED = new AtomicLong();
+    private static final AtomicLong SUCCESSES = new AtomicLong();
+    private static final AtomicLong FAILURES = new AtomicLong();
+    private static final AtomicLong NEGATIVE_HITS = new AtomicLong();
+    private static final AtomicLong ACCOUNT_REJECTS = new AtomicLong();
+    private static final AtomicLong GLOBAL_REJECTS = new AtomicLong();
+
+    private LoginGate() {
+    }
+
+    /**
+     * Lock-free token bucket in the GCRA form: the state is the time at which
+     * the bucket would be full again, and taking a token pushes it one refill
+     * interval later unless that is more than a burst ahead of now.
+     */
+    static final class TokenBucket {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong fullAt;
+
+        TokenBucket(int burst, long intervalNanos) {
+            this.intervalNanos = Math.max(1, intervalNanos);
+            this.burstNanos = Math.max(1, burst) * this.intervalNanos;
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        boolean tryAcquire(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current - now, 0) + intervalNanos;
+                if (next > burstNanos)
+                    return false;
+                if (fullAt.compareAndSet(current, now + next))
+                    return true;
+            }
+        }
+
+        boolean isFull(long now) {
+            return fullAt.get() - now <= 0;
+        }
+    }
+
+    /** Decides on one attempt, taking tokens when it is admitted past the cache. */
+    static Decision admit(String role, String handle, String password) {
+        ATTEMPTS.incrementAndGet();
+        String account = accountKey(role, handle);
+        Long expiry = FAILED.get(credentialKey(account, password));
+        if (expiry != null && expiry > System.currentTimeMillis()) {
+            NEGATIVE_HITS.incrementAndGet();
+            return Decision.KNOWN_BAD;
+        }
+
+        long now = System.nanoTime();
+        TokenBucket bucket = ACCOUNTS.get(account);
+        if (bucket == null) {
+            if (ACCOUNTS.size() >= MAX_TRACKED)
+                prune(now);
+            bucket = ACCOUNTS.computeIfAbsent(account,
+                    k -> new TokenBucket(ACCOUNT_BURST, 60_000_000_000L / ACCOUNT_PER_MINUTE));
+        }
+        if (!bucket.tryAcquire(now)) {
+            ACCOUNT_REJECTS.incrementAndGet();
+            return Decision.ACCOUNT_LIMITED;
+        }
+        if (!GLOBAL.tryAcquire(now)) {
+            GLOBAL_REJECTS.incrementAndGet();
+            return Decision.GLOBAL_LIMITED;
+        }
+        ADMITTED.incrementAndGet();
+        return Decision.ADMIT;
+    }
+
+    /** Records the outcome of an admitted attempt; failures go to the negative cache. */
+    static void record(String role, String handle, String password, boolean success) {
+        if (success) {
+            SUCCESSES.incrementAndGet();
+            return;
+        }
+        FAILURES.incrementAndGet();
+        long now = System.currentTimeMillis();
+        if (FAILED.size() >= MAX_TRACKED)
+            FAILED.values().removeIf(expiry -> expiry <= now);
+        if (FAILED.size() < MAX_TRACKED)
+            FAILED.put(credentialKey(accountKey(role, handle), password), now + NEGATIVE_TTL_MS);
+    }
+
+    /**
+     * Forgets cached failures for a handle, for when an account is created or
+     * its password changes and an earlier failure may now succeed.
+     */
+    public static void forget(String role, String handle) {
+        if (handle == null)
+            return;
+        String prefix = accountKey(role, handle) + "\0";
+        FAILED.keySet().removeIf(k -> k.startsWith(prefix));
+    }
+
+    private static void prune(long now) {
+        ACCOUNTS.values().removeIf(b -> b.isFull(now));
+        long wall = System.currentTimeMillis();
+        FAILED.values().removeIf(expiry -> expiry <= wall);
+    }
+
+    private static String accountKey(String role, String handle) {
+        return role + ":" + handle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String credentialKey(String account, String password) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(HMAC_KEY, "HmacSHA256"));
+            mac.update(account.getBytes(StandardCharsets.UTF_8));
+            return account + "\0" + Base64.getEncoder()
+                    .encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    public static Stats getStats() {
+        return new Stats(ATTEMPTS.get(), ADMITTED.get(), SUCCESSES.get(), FAILURES.get(), NEGATIVE_HITS.get(),
+                ACCOUNT_REJECTS.get(), GLOBAL_REJECTS.get(), ACCOUNTS.size(), FAILED.size());
+    }
+
+    /** Immutable snapshot of login admission metrics. */
+    public static final class Stats {
+        public final long attempts;
+        public final long admitted;
+        public final long successes;
+        public final long failures;
+        public final long negativeCacheHits;
+        public final long accountRejects;
+        public final long globalRejects;
+        public final int trackedAccounts;
+        public final int cachedFailures;
+
+        Stats(long attempts, long admitted, long successes, long failures, long negativeCacheHits,
+                long accountRejects, long globalRejects, int trackedAccounts, int cachedFailures) {
+            this.attempts = attempts;
+            this.admitted = admitted;
+            this.successes = successes;
+            this.failures = failures;
+            this.negativeCacheHits = negativeCacheHits;
+            this.accountRejects = accountRejects;
+            this.globalRejects = globalRejects;
+            this.trackedAccounts = trackedAccounts;
+            this.cachedFailures = cachedFailures;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "attempts=%d admitted=%d ok=%d failed=%d negativeHits=%d accountRejects=%d globalRejects=%d tracked=%d cachedFailures=%d",
+                    attempts, admitted, successes, failures, negativeCacheHits, accountRejects, globalRejects,
+                    trackedAccounts, cachedFailures);
+        }
+    }
+}
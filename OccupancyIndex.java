@@ -0,0 +1,169 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory room occupancy for exam_schedules, keyed by (date, room).
+ * Loaded from the database once and then kept current by the code paths that
+ * insert or delete exam_schedules rows, so room conflict checks are answered
+ * without a query. Each room-day is a RoomDayCalendar minute bitmap.
+ */
+public final class OccupancyIndex {
+
+    private OccupancyIndex() {
+    }
+
+    // Other clients write to the same database, so the snapshot is refreshed periodically
+    private static final long MAX_AGE_MS = 60_000L;
+
+    private static final String SELECT_SCHEDULES = "SELECT es.id, r.room_name, es.scheduled_date, es.scheduled_time, "
+            + SchedulingService.DURATION_MINUTES_SQL + " AS duration_minutes FROM exam_schedules es JOIN rooms r ON es.room_id = r.id JOIN exams e ON e.id = es.exam_id";
+
+    private static final Map<LocalDate, Map<String, RoomDay>> days = new HashMap<>();
+    private static final Map<Integer, Booking> bookings = new HashMap<>();
+    private static long loadedAt = -1;
+
+    /**
+     * True if the room has no schedule overlapping [start, start + duration) on
+     * that date.
+     */
+    public static synchronized boolean isRoomFree(Connection conn, String room, LocalDate date, LocalTime start,
+            int durationMinutes) throws SQLException {
+        ensureLoaded(conn);
+        Map<String, RoomDay> rooms = days.get(date);
+        if (rooms == null)
+            return true;
+        RoomDay day = rooms.get(room);
+        if (day == null)
+            return true;
+        return day.calendar.isFree(start, durationMinutes);
+    }
+
+    /**
+     * Adds a freshly inserted exam_schedules row. Call on the connection that
+     * inserted it so uncommitted rows are visible.
+     */
+    public static synchronized void recordInsert(Connection conn, int scheduleId) throws SQLException {
+        if (loadedAt < 0)
+            return; // not loaded yet; the first load will see the row
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_SCHEDULES + " WHERE es.id = ?")) {
+            ps.setInt(1, scheduleId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next())
+                    add(rs);
+            }
+        }
+    }
+
+    public static synchronized void recordDelete(int scheduleId) {
+        Booking b = bookings.remove(scheduleId);
+        if (b == null)
+            return;
+        Map<String, RoomDay> rooms = days.get(b.date);
+        RoomDay day = rooms != null ? rooms.get(b.room) : null;
+        if (day == null)
+            return;
+        day.bookings.remove(b);
+        // Overlapping bookings may share minutes, so rebuild instead of clearing the range
+        day.calendar.clear();
+        for (Booking other : day.bookings)
+            day.calendar.occupy(other.startMinute, other.endMinute);
+    }
+
+    /**
+     * Drops the snapshot; the next check reloads it. Use after a rolled-back
+     * transaction that had already been recorded.
+     */
+    public static synchronized void invalidate() {
+        days.clear();
+        bookings.clear();
+        loadedAt = -1;
+    }
+
+    /**
+     * Re-reads one room-day after the scheduler's locking read found a booking
+     * the snapshot lacks, keeping every other room-day as loaded. The read
+     * locks the rows so it sees schedules committed after the transaction's
+     * snapshot.
+     */
+    public static synchronized void reloadRoomDay(Connection conn, String room, LocalDate date) throws SQLException {
+        if (loadedAt < 0)
+            return; // not loaded yet; the first load reads the room-day
+        Map<String, RoomDay> rooms = days.get(date);
+        RoomDay day = rooms != null ? rooms.remove(room) : null;
+        if (day != null)
+            for (Booking b : day.bookings)
+                bookings.remove(b.scheduleId);
+        try (PreparedStatement ps = conn.prepareStatement(
+                SELECT_SCHEDULES + " WHERE r.room_name = ? AND es.scheduled_date = ? LOCK IN SHARE MODE")) {
+            ps.setString(1, room);
+            ps.setDate(2, java.sql.Date.valueOf(date));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next())
+                    add(rs);
+            }
+        }
+    }
+
+    private static void ensureLoaded(Connection conn) throws SQLException {
+        if (loadedAt >= 0 && System.currentTimeMillis() - loadedAt < MAX_AGE_MS)
+            return;
+        invalidate();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_SCHEDULES);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next())
+                add(rs);
+        }
+        loadedAt = System.currentTimeMillis();
+    }
+
+    private static void add(ResultSet rs) throws SQLException {
+        java.sql.Date d = rs.getDate("scheduled_date");
+        Time t = rs.getTime("scheduled_time");
+        String room = rs.getString("room_name");
+        if (d == null || t == null || room == null)
+            return;
+        int start = RoomDayCalendar.toMinute(t.toLocalTime());
+        int end = start + rs.getInt("duration_minutes");
+
+        int scheduleId = rs.getInt("id");
+        if (bookings.containsKey(scheduleId))
+            recordDelete(scheduleId); // re-recorded row; keep the newest copy only
+        Booking b = new Booking(scheduleId, d.toLocalDate(), room, start, end);
+        bookings.put(scheduleId, b);
+        RoomDay day = days.computeIfAbsent(b.date, k -> new HashMap<>()).computeIfAbsent(room, k -> new RoomDay());
+        day.bookings.add(b);
+        day.calendar.occupy(start, end);
+    }
+
+    private static final class Booking {
+        final int scheduleId;
+        final LocalDate date;
+        final String room;
+        final int startMinute;
+        final int endMinute;
+
+        Booking(int scheduleId, LocalDate date, String room, int startMinute, int endMinute) {
+            this.scheduleId = scheduleId;
+            this.date = date;
+            this.room = room;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+        }
+    }
+
+    private static final class RoomDay {
+        final RoomDayCalendar calendar = new RoomDayCalendar();
+        final List<Booking> bookings = new ArrayList<>();
+    }
+}
@@ -0,0 +1,224 @@
+package views;
+
+import dao.KeysetPager;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * A table model that holds only the pages the table has looked at. Rows are
+ * read through a KeysetPager on a background thread; until a page arrives its
+ * cells are empty. The page after the one being viewed is prefetched, the
+ * most recently used pages are kept in a small LRU cache, and the row count
+ * starts from the pager's estimate and is corrected when the end is read.
+ * Memory stays at a few pages whatever the size of the table. Sorting and
+ * searching build a new pager through the factory, so they re-query the
+ * database instead of reordering rows here; RemoteRowSorter connects the
+ * table header to setSort(). All methods except the loader run on the EDT.
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int PAGE_SIZE = Integer.getInteger("exam.table.pageSize", 200);
+    private static final int CACHED_PAGES = Integer.getInteger("exam.table.cachedPages", 8);
+
+    // One loader for every paged table: page loads are short and the pool is shared
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "table-page-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Builds the pager for a sort (null for the default order) and search text (null for none). */
+    @FunctionalInterface
+    public interface PagerFactory<T> {
+        KeysetPager<T> create(String sortBy, boolean descending, String search);
+    }
+
+    private final String[] columnNames;
+    private final int editableColumn;
+    private final String[] sortNames;
+    private final PagerFactory<T> pagerFactory;
+    private final Function<T, Object[]> toRow;
+    private KeysetPager<T> pager;
+    private int sortColumn = -1;
+    private boolean descending;
+    private String search;
+
+    private final Map<Integer, List<Object[]>> pages = new LinkedHashMap<Integer, List<Object[]>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            return size() > CACHED_PAGES;
+        }
+    };
+    // Key of the last row before each page that has been reached; page 0 starts at null
+    private final Map<Integer, Object[]> startKeys = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    private int rowCount;
+    // Bumped by refresh() so loads started before it are dropped
+    private int generation;
+
+    /**
+     * @param sortNames the name each column sorts by in the pager factory, or
+     *                  null for columns that cannot be sorted
+     */
+    public PagedTableModel(String[] columnNames, int editableColumn, String[] sortNames,
+            PagerFactory<T> pagerFactory, Function<T, Object[]> toRow) {
+        this.columnNames = columnNames.clone();
+        this.editableColumn = editableColumn;
+        this.sortNames = sortNames.clone();
+        this.pagerFactory = pagerFactory;
+        this.toRow = toRow;
+        this.pager = pagerFactory.create(null, false, null);
+    }
+
+    public boolean isSortable(int column) {
+        return column >= 0 && column < sortNames.length && sortNames[column] != null;
+    }
+
+    /** Re-queries sorted by the column, or in the default order for -1. */
+    public void setSort(int column, boolean descending) {
+        this.sortColumn = isSortable(column) ? column : -1;
+        this.descending = descending;
+        requery();
+    }
+
+    /** Re-queries keeping only rows matching the text; blank shows everything. */
+    public void setSearch(String text) {
+        this.search = text == null || text.isBlank() ? null : text.trim();
+        requery();
+    }
+
+    private void requery() {
+        pager = pagerFactory.create(sortColumn < 0 ? null : sortNames[sortColumn], descending, search);
+        refresh();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == editableColumn;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+            return null;
+        }
+        request(page + 1); // prefetch
+        int index = row % PAGE_SIZE;
+        return index < rows.size() ? rows.get(index)[column] : null;
+    }
+
+    /** Drops every cached page and re-reads the row estimate and the visible rows. */
+    public void refresh() {
+        int gen = ++generation;
+        pages.clear();
+        startKeys.clear();
+        startKeys.put(0, null);
+        loading.clear();
+        LOADER.execute(() -> {
+            try {
+                int estimate = pager.estimateCount();
+                SwingUtilities.invokeLater(() -> {
+                    if (gen != generation)
+                        return;
+                    rowCount = Math.max(estimate, 0);
+                    fireTableDataChanged();
+                    // Tiny tables may be estimated at zero rows; page 0 settles the real count
+                    request(0);
+                });
+            } catch (Exception e) {
+                System.err.println("❌ Error estimating table rows: " + e.getMessage());
+            }
+        });
+    }
+
+    private void request(int page) {
+        if (page * PAGE_SIZE > rowCount || pages.containsKey(page) || !loading.add(page))
+            return;
+        int gen = generation;
+        boolean knownStart = startKeys.containsKey(page);
+        Object[] startKey = startKeys.get(page);
+        LOADER.execute(() -> {
+            try {
+                Object[] after = startKey;
+                boolean pastEnd = false;
+                if (!knownStart) {
+                    // Jumped past unread pages: find where this page starts once
+                    after = pager.keyAt(page * PAGE_SIZE - 1);
+                    pastEnd = after == null;
+                }
+                KeysetPager.Page<T> result = pastEnd ? null : pager.after(after, PAGE_SIZE);
+                SwingUtilities.invokeLater(() -> loaded(gen, page, result));
+            } catch (Exception e) {
+                System.err.println("❌ Error loading table page " + page + ": " + e.getMessage());
+                SwingUtilities.invokeLater(() -> {
+                    if (gen == generation)
+                        loading.remove(page);
+                });
+            }
+        });
+    }
+
+    private void loaded(int gen, int page, KeysetPager.Page<T> result) {
+        if (gen != generation)
+            return;
+        loading.remove(page);
+        int first = page * PAGE_SIZE;
+        if (result == null || result.rows.isEmpty()) {
+            // The estimate ran past the end
+            if (rowCount > first) {
+                rowCount = first;
+                fireTableDataChanged();
+            }
+            return;
+        }
+
+        Object[][] rows = new Object[result.rows.size()][];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = toRow.apply(result.rows.get(i));
+        pages.put(page, List.of(rows));
+        startKeys.put(page + 1, result.lastKey);
+
+        int end = first + rows.length;
+        if (rows.length < PAGE_SIZE && rowCount != end) {
+            rowCount = end;
+            fireTableDataChanged();
+        } else if (rows.length == PAGE_SIZE && rowCount <= end) {
+            // The estimate was low: expose one more page and let it settle the count
+            int old = rowCount;
+            rowCount = end + 1;
+            fireTableRowsInserted(old, rowCount - 1);
+            fireTableRowsUpdated(first, end - 1);
+        } else {
+            fireTableRowsUpdated(first, end - 1);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import models.Course;
+import models.Room;
+
+/**
+ * Read-through cache of the reference tables the scheduler consults on every
+ * enrollment: rooms, courses, exam durations and time slots. Each table is
+ * loaded whole on first use and kept for exam.refdata.ttlSeconds (default
+ * 300), since other clients write to the same database. RoomDAO and ExamDAO
+ * invalidate their table after a successful write. Every invalidation bumps
+ * the table's version, and a load that raced with it is returned to its caller
+ * but never installed. Loads run on the caller's connection, so a caller that
+ * already holds a pooled connection never waits on a second one.
+ */
+public final class ReferenceDataCache {
+
+    private ReferenceDataCache() {
+    }
+
+    private static final long TTL_MS = Long.getLong("exam.refdata.ttlSeconds", 300L) * 1000L;
+
+    /** A row of time_slots. */
+    public static final class TimeSlot {
+        public final int id;
+        public final LocalTime start;
+
+        TimeSlot(int id, LocalTime start) {
+            this.id = id;
+            this.start = start;
+        }
+    }
+
+    /** Hit/miss counters of one cached table. */
+    public static final class Stats {
+        public final long hits;
+        public final long misses;
+        public final long invalidations;
+
+        Stats(long hits, long misses, long invalidations) {
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+        }
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d hits, %d misses (%.1f%%), %d invalidations", hits, misses, hitRate() * 100,
+                    invalidations);
+        }
+    }
+
+    private static final class Rooms {
+        final List<Room> byCapacity;
+        final Map<String, Integer> capacityByName;
+
+        Rooms(List<Room> byCapacity) {
+            this.byCapacity = Collections.unmodifiableList(byCapacity);
+            Map<String, Integer> capacities = new HashMap<>();
+            for (Room room : byCapacity)
+                capacities.put(room.getRoomName(), room.getCapacity());
+            this.capacityByName = capacities;
+        }
+    }
+
+    private static final Table<Rooms> ROOMS = new Table<>("rooms");
+    // Concurrent so rows added by other clients since the load can be filled in one at a time
+    private static final Table<Map<Integer, Course>> COURSES = new Table<>("courses");
+    private static final Table<Map<Integer, Integer>> EXAM_DURATIONS = new Table<>("exams");
+    private static final Table<List<TimeSlot>> TIME_SLOTS = new Table<>("time_slots");
+
+    /** Every room, largest first. The list is read-only; do not modify the rooms. */
+    public static List<Room> rooms(Connection conn) throws SQLException {
+        return ROOMS.get(conn, ReferenceDataCache::loadRooms).byCapacity;
+    }
+
+    /** Capacity of the named room, or 0 if there is no such room. */
+    public static int roomCapacity(Connection conn, String roomName) throws SQLException {
+        Integer capacity = ROOMS.get(conn, ReferenceDataCache::loadRooms).capacityByName.get(roomName);
+        return capacity != null ? capacity : 0;
+    }
+
+    /** The course, or null if there is no such course. */
+    public static Course course(Connection conn, int courseId) throws SQLException {
+        Entry<Map<Integer, Course>> cached = COURSES.cached();
+        Map<Integer, Course> courses = cached != null ? cached.value
+                : COURSES.load(conn, ReferenceDataCache::loadCourses);
+        Course course = courses.get(courseId);
+        // A hit only if the cached table already held the row
+        COURSES.count(cached != null && course != null);
+        if (course == null) {
+            try (PreparedStatement ps = conn.prepareStatement("SELECT id, name FROM courses WHERE id = ?")) {
+                ps.setInt(1, courseId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        course = new Course(rs.getInt("id"), rs.getString("name"));
+                        courses.put(courseId, course);
+                    }
+                }
+            }
+        }
+        return course;
+    }
+
+    /** Exam length in minutes; 120 for an unknown exam, as before. */
+    public static int examDurationMinutes(Connection conn, int examId) throws SQLException {
+        Entry<Map<Integer, Integer>> cached = EXAM_DURATIONS.cached();
+        Map<Integer, Integer> durations = cached != null ? cached.value
+                : EXAM_DURATIONS.load(conn, ReferenceDataCache::loadExamDurations);
+        Integer minutes = durations.get(examId);
+        EXAM_DURATIONS.count(cached != null && minutes != null);
+        if (minutes == null) {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "SELECT " + SchedulingService.DURATION_MINUTES_SQL + " FROM exams e WHERE e.id = ?")) {
+                ps.setInt(1, examId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (!rs.next())
+                        return 120;
+                    minutes = rs.getInt(1);
+                    durations.put(examId, minutes);
+                }
+            }
+        }
+        return minutes;
+    }
+
+    /** The rows of time_slots by start time; empty if the table has none. */
+    public static List<TimeSlot> timeSlots(Connection conn) throws SQLException {
+        return TIME_SLOTS.get(conn, ReferenceDataCache::loadTimeSlots);
+    }
+
+    public static void invalidateRooms() {
+        ROOMS.invalidate();
+    }
+
+    public static void invalidateCourses() {
+        COURSES.invalidate();
+    }
+
+    public static void invalidateExams() {
+        EXAM_DURATIONS.invalidate();
+    }
+
+    public static void invalidateTimeSlots() {
+        TIME_SLOTS.invalidate();
+    }
+
+    /** Counters per table, by table name. */
+    public static Map<String, Stats> stats() {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        for (Table<?> t : List.of(ROOMS, COURSES, EXAM_DURATIONS, TIME_SLOTS))
+            stats.put(t.name, new Stats(t.hits.get(), t.misses.get(), t.version.get()));
+        return stats;
+    }
+
+    private static Rooms loadRooms(Connection conn) throws SQLException {
+        List<Room> rooms = new ArrayList<>();
+        try (PreparedStatement ps = conn
+                .prepareStatement("SELECT id, room_name, capacity FROM rooms ORDER BY capacity DESC");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next())
+                rooms.add(new Room(rs.getInt("id"), rs.getString("room_name"), rs.getInt("capacity")));
+        }
+        return new Rooms(rooms);
+    }
+
+    private static Map<Integer, Course> loadCourses(Connection conn) throws SQLException {
+        Map<Integer, Course> courses = new ConcurrentHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id, name FROM courses");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next())
+                courses.put(rs.getInt("id"), new Course(rs.getInt("id"), rs.getString("name")));
+        }
+        return courses;
+    }
+
+    private static Map<Integer, Integer> loadExamDurations(Connection conn) throws SQLException {
+        Map<Integer, Integer> durations = new ConcurrentHashMap<>();
+        try (PreparedStatement ps = conn
+                .prepareStatement("SELECT e.id, " + SchedulingService.DURATION_MINUTES_SQL + " FROM exams e");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next())
+                durations.put(rs.getInt(1), rs.getInt(2));
+        }
+        return durations;
+    }
+
+    private static List<TimeSlot> loadTimeSlots(Connection conn) throws SQLException {
+        List<TimeSlot> slots = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT id, start_time FROM time_slots ORDER BY start_time");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Time start = rs.getTime("start_time");
+                if (start != null)
+                    slots.add(new TimeSlot(rs.getInt("id"), start.toLocalTime()));
+            }
+        }
+        return Collections.unmodifiableList(slots);
+    }
+
+    @FunctionalInterface
+    private interface Loader<V> {
+        V load(Connection conn) throws SQLException;
+    }
+
+    private static final class Table<V> {
+        final String name;
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong version = new AtomicLong();
+        volatile Entry<V> entry;
+
+        Table(String name) {
+            this.name = name;
+        }
+
+        V get(Connection conn, Loader<V> loader) throws SQLException {
+            Entry<V> e = cached();
+            count(e != null);
+            return e != null ? e.value : load(conn, loader);
+        }
+
+        // The current entry, or null if the table must be loaded; not counted
+        Entry<V> cached() {
+            Entry<V> e = entry;
+            if (e != null && e.version == version.get() && System.currentTimeMillis() - e.loadedAt <= TTL_MS)
+                return e;
+            return null;
+        }
+
+        // Reads the table and caches it; not counted
+        V load(Connection conn, Loader<V> loader) throws SQLException {
+            long v = version.get();
+            V value = loader.load(conn);
+            synchronized (this) {
+                // An invalidation during the load means the rows may already be stale
+                if (version.get() == v)
+                    entry = new Entry<>(value, v);
+            }
+            return value;
+        }
+
+        void count(boolean hit) {
+            (hit ? hits : misses).incrementAndGet();
+        }
+
+        synchronized void invalidate() {
+            version.incrementAndGet();
+            entry = null;
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long version;
+        final long loadedAt = System.currentTimeMillis();
+
+        Entry(V value, long version) {
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package views;
+
+import java.util.Collections;
+import java.util.List;
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+
+/**
+ * Lets a JTable header sort a PagedTableModel in the database. A header click
+ * asks the model to re-query in the new order instead of sorting loaded rows,
+ * so view and model rows are always the same. Only one column sorts at a time.
+ */
+public class RemoteRowSorter extends RowSorter<PagedTableModel<?>> {
+
+    private final PagedTableModel<?> model;
+    private List<SortKey> sortKeys = Collections.emptyList();
+
+    public RemoteRowSorter(PagedTableModel<?> model) {
+        this.model = model;
+    }
+
+    @Override
+    public PagedTableModel<?> getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        if (!model.isSortable(column))
+            return;
+        SortOrder order = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+                && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING)
+            order = SortOrder.DESCENDING;
+        setSortKeys(List.of(new SortKey(column, order)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        SortKey key = keys == null || keys.isEmpty() ? null : keys.get(0);
+        if (key != null && (key.getSortOrder() == SortOrder.UNSORTED || !model.isSortable(key.getColumn())))
+            key = null;
+        sortKeys = key == null ? Collections.emptyList() : List.of(key);
+        if (key == null)
+            model.setSort(-1, false);
+        else
+            model.setSort(key.getColumn(), key.getSortOrder() == SortOrder.DESCENDING);
+        fireSortOrderChanged();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        return index;
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    // The rows arrive already sorted, so model changes need no work here
+
+    @Override
+    public void modelStructureChanged() {
+    }
+
+    @Override
+    public void allRowsChanged() {
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+    }
+}
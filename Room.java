@@ -1,66 +1,66 @@
-package models;
-
-public class Room {
-    private int id;
-    private String roomName;
-    private int capacity;
-
-    public Room() {
-    }
-
-    public Room(String roomName, int capacity) {
-        this.roomName = roomName;
-        this.capacity = capacity;
-    }
-
-    public Room(int id, String roomName, int capacity) {
-        this.id = id;
-        this.roomName = roomName;
-        this.capacity = capacity;
-    }
-
-    // Getters and Setters
-    public int getId() {
-        return id;
-    }
-
-    public void setId(int id) {
-        this.id = id;
-    }
-
-    public String getRoomName() {
-        return roomName;
-    }
-
-    public void setRoomName(String roomName) {
-        this.roomName = roomName;
-    }
-
-    public int getCapacity() {
-        return capacity;
-    }
-
-    public void setCapacity(int capacity) {
-        this.capacity = capacity;
-    }
-
-    @Override
-    public String toString() {
-        return roomName + " (Capacity: " + capacity + ")";
-    }
-
-    @Override
-    public boolean equals(Object obj) {
-        if (this == obj)
-            return true;
-        if (obj == null || getClass() != obj.getClass())
-            return false;
-        Room room = (Room) obj;
-        return id == room.id;
-    }
-
-    @Override
-    public int hashCode() {
-        return Integer.hashCode(id);
-    }
+package models;
+
+public class Room {
+    private int id;
+    private String roomName;
+    private int capacity;
+
+    public Room() {
+    }
+
+    public Room(String roomName, int capacity) {
+        this.roomName = roomName;
+        this.capacity = capacity;
+    }
+
+    public Room(int id, String roomName, int capacity) {
+        this.id = id;
+        this.roomName = roomName;
+        this.capacity = capacity;
+    }
+
+    // Getters and Setters
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public String getRoomName() {
+        return roomName;
+    }
+
+    public void setRoomName(String roomName) {
+        this.roomName = roomName;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String toString() {
+        return roomName + " (Capacity: " + capacity + ")";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null || getClass() != obj.getClass())
+            return false;
+        Room room = (Room) obj;
+        return id == room.id;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(id);
+    }
 }
\ No newline at end of file
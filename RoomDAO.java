@@ -1,159 +1,188 @@
-package dao;
-
-import models.Room;
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-
-public class RoomDAO {
-
-    public List<Room> getAllRooms() {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT * FROM rooms ORDER BY room_name";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Room room = new Room(
-                        rs.getInt("id"),
-                        rs.getString("room_name"),
-                        rs.getInt("capacity"));
-                rooms.add(room);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error fetching rooms: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return rooms;
-    }
-
-    public Room getRoomById(int id) {
-        String sql = "SELECT * FROM rooms WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id);
-            ResultSet rs = stmt.executeQuery();
-
-            if (rs.next()) {
-                return new Room(
-                        rs.getInt("id"),
-                        rs.getString("room_name"),
-                        rs.getInt("capacity"));
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error fetching room by ID: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return null;
-    }
-
-    public boolean addRoom(Room room) {
-        String sql = "INSERT INTO rooms (room_name, capacity) VALUES (?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, room.getRoomName());
-            stmt.setInt(2, room.getCapacity());
-
-            int result = stmt.executeUpdate();
-            return result > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error adding room: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    public boolean updateRoom(Room room) {
-        String sql = "UPDATE rooms SET room_name = ?, capacity = ? WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setString(1, room.getRoomName());
-            stmt.setInt(2, room.getCapacity());
-            stmt.setInt(3, room.getId());
-
-            int result = stmt.executeUpdate();
-            return result > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error updating room: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    public boolean deleteRoom(int roomId) {
-        String sql = "DELETE FROM rooms WHERE id = ?";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, roomId);
-
-            int result = stmt.executeUpdate();
-            return result > 0;
-
-        } catch (SQLException e) {
-            System.err.println("Error deleting room: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    public List<Room> getAvailableRoomsForCapacity(int minCapacity) {
-        List<Room> rooms = new ArrayList<>();
-        String sql = "SELECT * FROM rooms WHERE capacity >= ? ORDER BY capacity, room_name";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, minCapacity);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                Room room = new Room(
-                        rs.getInt("id"),
-                        rs.getString("room_name"),
-                        rs.getInt("capacity"));
-                rooms.add(room);
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error fetching available rooms: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return rooms;
-    }
-
-    public int getTotalRoomCapacity() {
-        String sql = "SELECT SUM(capacity) as total_capacity FROM rooms";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-
-            if (rs.next()) {
-                return rs.getInt("total_capacity");
-            }
-
-        } catch (SQLException e) {
-            System.err.println("Error calculating total room capacity: " + e.getMessage());
-            e.printStackTrace();
-        }
-
-        return 0;
-    }
+package dao;
+
+import models.Room;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class RoomDAO {
+
+    public List<Room> getAllRooms() {
+        List<Room> rooms = new ArrayList<>();
+        String sql = "SELECT * FROM rooms ORDER BY room_name";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            while (rs.next()) {
+                Room room = new Room(
+                        rs.getInt("id"),
+                        rs.getString("room_name"),
+                        rs.getInt("capacity"));
+                rooms.add(room);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching rooms: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return rooms;
+    }
+
+    // Columns the room table can sort by
+    private static final Map<String, String> ROOM_SORTS = Map.of(
+            "id", "id",
+            "name", "room_name",
+            "capacity", "capacity");
+
+    /**
+     * Pages of rooms for the room management table, by name unless sortBy
+     * names one of ROOM_SORTS. A search keeps rooms whose name starts with
+     * the text.
+     */
+    public KeysetPager<Room> roomPager(String sortBy, boolean descending, String search) {
+        KeysetPager<Room> pager = new KeysetPager<>("id, room_name, capacity", "rooms",
+                new String[] { "room_name", "id" }, null, "rooms",
+                rs -> new Room(
+                        rs.getInt("id"),
+                        rs.getString("room_name"),
+                        rs.getInt("capacity")));
+        return pager.sortedBy(KeysetPager.sortColumn(ROOM_SORTS, sortBy), descending)
+                .matching(search, "room_name");
+    }
+
+    public Room getRoomById(int id) {
+        String sql = "SELECT * FROM rooms WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, id);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return new Room(
+                        rs.getInt("id"),
+                        rs.getString("room_name"),
+                        rs.getInt("capacity"));
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching room by ID: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    public boolean addRoom(Room room) {
+        String sql = "INSERT INTO rooms (room_name, capacity) VALUES (?, ?)";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, room.getRoomName());
+            stmt.setInt(2, room.getCapacity());
+
+            int result = stmt.executeUpdate();
+            if (result > 0)
+                ReferenceDataCache.invalidateRooms();
+            return result > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error adding room: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean updateRoom(Room room) {
+        String sql = "UPDATE rooms SET room_name = ?, capacity = ? WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setString(1, room.getRoomName());
+            stmt.setInt(2, room.getCapacity());
+            stmt.setInt(3, room.getId());
+
+            int result = stmt.executeUpdate();
+            if (result > 0)
+                ReferenceDataCache.invalidateRooms();
+            return result > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error updating room: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public boolean deleteRoom(int roomId) {
+        String sql = "DELETE FROM rooms WHERE id = ?";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, roomId);
+
+            int result = stmt.executeUpdate();
+            if (result > 0)
+                ReferenceDataCache.invalidateRooms();
+            return result > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Error deleting room: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public List<Room> getAvailableRoomsForCapacity(int minCapacity) {
+        List<Room> rooms = new ArrayList<>();
+        String sql = "SELECT * FROM rooms WHERE capacity >= ? ORDER BY capacity, room_name";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, minCapacity);
+            ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                Room room = new Room(
+                        rs.getInt("id"),
+                        rs.getString("room_name"),
+                        rs.getInt("capacity"));
+                rooms.add(room);
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error fetching available rooms: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return rooms;
+    }
+
+    public int getTotalRoomCapacity() {
+        String sql = "SELECT SUM(capacity) as total_capacity FROM rooms";
+
+        try (Connection conn = DatabaseConnection.getConnection();
+                Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery(sql)) {
+
+            if (rs.next()) {
+                return rs.getInt("total_capacity");
+            }
+
+        } catch (SQLException e) {
+            System.err.println("Error calculating total room capacity: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        return 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package dao;
+
+import java.time.LocalTime;
+
+/**
+ * Occupancy of one room on one day as a minute bitmap (1440 bits, 23 longs).
+ * Free checks only look at the handful of words an exam spans, and
+ * nextFreeStart() jumps over busy blocks instead of probing every step.
+ * Shared by all scheduler variants and by OccupancyIndex.
+ */
+public final class RoomDayCalendar {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final long[] words = new long[(MINUTES_PER_DAY + 63) / 64];
+    private int bookings;
+
+    /** True if no minute in [start, end) is booked. */
+    public boolean isFree(int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        return start >= end || nextBusy(start, end) < 0;
+    }
+
+    public boolean isFree(LocalTime start, int durationMinutes) {
+        int from = toMinute(start);
+        return isFree(from, from + durationMinutes);
+    }
+
+    /** Marks [start, end) as booked. Overlapping an existing booking is allowed. */
+    public void occupy(int start, int end) {
+        start = clamp(start);
+        end = clamp(end);
+        bookings++;
+        if (start >= end)
+            return;
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        for (int w = first; w <= last; w++)
+            words[w] |= mask(w, start, end);
+    }
+
+    public void occupy(LocalTime start, int durationMinutes) {
+        int from = toMinute(start);
+        occupy(from, from + durationMinutes);
+    }
+
+    /**
+     * Earliest start in from, from + step, from + 2*step, ... such that
+     * [start, start + duration) is free and ends no later than latestEnd.
+     * Returns -1 if there is none.
+     */
+    public int nextFreeStart(int from, int duration, int step, int latestEnd) {
+        int candidate = from;
+        while (candidate + duration <= latestEnd) {
+            int busy = nextBusy(clamp(candidate), clamp(candidate + duration));
+            if (busy < 0)
+                return candidate;
+            // Every step that starts before the busy block ends would overlap it
+            int freeAt = nextFree(busy);
+            int steps = (freeAt - candidate + step - 1) / step;
+            candidate += Math.max(steps, 1) * step;
+        }
+        return -1;
+    }
+
+    /** Number of bookings recorded, used to balance load across rooms. */
+    public int bookingCount() {
+        return bookings;
+    }
+
+    public void clear() {
+        java.util.Arrays.fill(words, 0L);
+        bookings = 0;
+    }
+
+    public static int toMinute(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    public static LocalTime toTime(int minute) {
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+
+    // First booked minute in [start, end), or -1
+    private int nextBusy(int start, int end) {
+        if (start >= end)
+            return -1;
+        int first = start >>> 6;
+        int last = (end - 1) >>> 6;
+        for (int w = first; w <= last; w++) {
+            long hits = words[w] & mask(w, start, end);
+            if (hits != 0)
+                return (w << 6) + Long.numberOfTrailingZeros(hits);
+        }
+        return -1;
+    }
+
+    // First free minute at or after from (MINUTES_PER_DAY if the rest of the day is booked)
+    private int nextFree(int from) {
+        for (int w = from >>> 6; w < words.length; w++) {
+            long free = ~words[w] & mask(w, from, MINUTES_PER_DAY);
+            if (free != 0)
+                return Math.min((w << 6) + Long.numberOfTrailingZeros(free), MINUTES_PER_DAY);
+        }
+        return MINUTES_PER_DAY;
+    }
+
+    // Bits of word w that fall inside [start, end)
+    private static long mask(int w, int start, int end) {
+        int lo = Math.max(start - (w << 6), 0);
+        int hi = Math.min(end - (w << 6), 64);
+        if (hi <= lo)
+            return 0L;
+        long upper = hi == 64 ? -1L : (1L << hi) - 1;
+        return upper & (-1L << lo);
+    }
+
+    private static int clamp(int minute) {
+        return Math.max(0, Math.min(minute, MINUTES_PER_DAY));
+    }
+}
@@ -0,0 +1,108 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps exam_schedules.enrolled_count and seats_left in step with the
+ * student_exams rows pointing at each schedule, so readers never need a
+ * correlated COUNT(*). Every path that adds or removes such a row calls
+ * tryReserve()/release() on the same connection and transaction as the row
+ * change; reconcile() repairs any drift left by writes from elsewhere.
+ */
+public final class ScheduleSeats {
+
+    private ScheduleSeats() {
+    }
+
+    private static final long RECONCILE_PERIOD_MINUTES = Long.getLong("exam.seats.reconcileMinutes", 15L);
+
+    /** How many full schedules an enrollment skips before it creates a new schedule instead. */
+    public static final int MAX_RESERVE_ATTEMPTS = Integer.getInteger("exam.seats.maxAttempts", 5);
+
+    // Conditional, so two enrollments can never both take the last seat
+    private static final String RESERVE = "UPDATE exam_schedules SET enrolled_count = enrolled_count + 1, "
+            + "seats_left = seats_left - 1 WHERE id = ? AND seats_left > 0";
+
+    private static final String RELEASE = "UPDATE exam_schedules SET enrolled_count = enrolled_count - 1, "
+            + "seats_left = seats_left + 1 WHERE id = ? AND enrolled_count > 0";
+
+    // Run before deleting a student's enrollments, in the same transaction
+    private static final String RELEASE_FOR_STUDENT = "UPDATE exam_schedules es "
+            + "JOIN (SELECT exam_schedule_id, COUNT(*) AS n FROM student_exams "
+            + "WHERE student_id = ? AND exam_schedule_id IS NOT NULL GROUP BY exam_schedule_id) x "
+            + "ON es.id = x.exam_schedule_id "
+            + "SET es.enrolled_count = es.enrolled_count - x.n, es.seats_left = es.seats_left + x.n";
+
+    private static final String RECONCILE = "UPDATE exam_schedules es "
+            + "LEFT JOIN (SELECT exam_schedule_id, COUNT(*) AS n FROM student_exams "
+            + "WHERE exam_schedule_id IS NOT NULL GROUP BY exam_schedule_id) c ON c.exam_schedule_id = es.id "
+            + "SET es.enrolled_count = COALESCE(c.n, 0), es.seats_left = es.capacity - COALESCE(c.n, 0) "
+            + "WHERE es.enrolled_count <> COALESCE(c.n, 0) OR es.seats_left <> es.capacity - COALESCE(c.n, 0)";
+
+    private static ScheduledExecutorService reconciler;
+
+    /**
+     * Takes one seat for a student_exams row about to be inserted. Returns false
+     * if the schedule is full; nothing is changed in that case.
+     */
+    public static boolean tryReserve(Connection conn, int scheduleId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(RESERVE)) {
+            ps.setInt(1, scheduleId);
+            return ps.executeUpdate() == 1;
+        }
+    }
+
+    /** Uncounts one removed student_exams row for the schedule. */
+    public static void release(Connection conn, int scheduleId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(RELEASE)) {
+            ps.setInt(1, scheduleId);
+            ps.executeUpdate();
+        }
+    }
+
+    /** Uncounts every enrollment of the student; call before deleting them. */
+    public static void releaseAllForStudent(Connection conn, int studentId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(RELEASE_FOR_STUDENT)) {
+            ps.setInt(1, studentId);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Recomputes the counters of every schedule whose stored values differ
+     * from student_exams. Returns the number of schedules repaired.
+     */
+    public static int reconcile(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            int repaired = stmt.executeUpdate(RECONCILE);
+            if (repaired > 0)
+                System.out.println("⚠️ Seat counters drifted on " + repaired + " schedule(s); repaired");
+            return repaired;
+        }
+    }
+
+    /** Starts the periodic reconcile on a daemon thread. Safe to call more than once. */
+    public static synchronized void startReconciler() {
+        if (reconciler != null || RECONCILE_PERIOD_MINUTES <= 0)
+            return;
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "seat-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(() -> {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                if (conn != null)
+                    reconcile(conn);
+            } catch (SQLException e) {
+                System.err.println("❌ Seat reconcile failed: " + e.getMessage());
+            }
+        }, RECONCILE_PERIOD_MINUTES, RECONCILE_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+}
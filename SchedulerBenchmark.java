@@ -0,0 +1,186 @@
+package dao;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Micro-benchmarks for the in-memory parts of the scheduler, run by hand like
+ * SeatReservationCheck but with no database at all:
+ *
+ * java dao.SchedulerBenchmark [roomDays...]
+ *
+ * Each size builds a seeded synthetic calendar of that many room-days (default
+ * 60, 1000 and 10000) and times BatchScheduler's planning phase,
+ * earliestFreeSlot(), the RoomDayCalendar check behind
+ * OccupancyIndex.isRoomFree(), parseDurationMinutes(),
+ * StudentScheduleIndex.overlaps() and the candidate generation of
+ * createIntelligentSchedule(). Every benchmark warms up first and then runs
+ * fixed-length rounds, reporting mean, best and worst ns/op across rounds.
+ * Rounds are set with exam.bench.warmupRounds, exam.bench.rounds and
+ * exam.bench.roundMs. Compare runs on the same machine only.
+ */
+public final class SchedulerBenchmark {
+
+    private SchedulerBenchmark() {
+    }
+
+    private static final int WARMUP_ROUNDS = Integer.getInteger("exam.bench.warmupRounds", 5);
+    private static final int MEASURED_ROUNDS = Integer.getInteger("exam.bench.rounds", 10);
+    private static final long ROUND_NANOS = Long.getLong("exam.bench.roundMs", 200L) * 1_000_000L;
+
+    // Queries are drawn from a fixed table so the timed loop allocates nothing
+    private static final int QUERIES = 1024;
+    private static final int[] DURATIONS = { 60, 90, 120, 150, 180 };
+    private static final String[] DURATION_TEXTS = { "2 hours", "1.5 hours", "90", "3 hrs", "45 minutes",
+            "1 hour", "2.5 hours", "120" };
+
+    // Every result is folded in here and printed, so the JIT cannot drop the work
+    private static long sink;
+
+    @FunctionalInterface
+    private interface Op {
+        long run(int i);
+    }
+
+    public static void main(String[] args) {
+        int[] sizes = args.length > 0 ? new int[args.length] : new int[] { 60, 1000, 10000 };
+        for (int i = 0; i < args.length; i++)
+            sizes[i] = Integer.parseInt(args[i]);
+
+        System.out.printf("%-38s %9s %12s %12s %12s%n", "benchmark", "roomDays", "mean ns/op", "best", "worst");
+        for (int roomDays : sizes) {
+            Fixture f = new Fixture(roomDays, 42L);
+            run("BatchScheduler plan (sequential)", roomDays,
+                    i -> BatchScheduler.planInMemory(f.rowDay, f.rowBase, f.rowDuration,
+                            BatchScheduler.PlanningMode.SEQUENTIAL));
+            run("BatchScheduler plan (parallel)", roomDays,
+                    i -> BatchScheduler.planInMemory(f.rowDay, f.rowBase, f.rowDuration,
+                            BatchScheduler.PlanningMode.PARALLEL));
+            run("earliestFreeSlot", roomDays, i -> {
+                int q = i & (QUERIES - 1);
+                return SchedulingService.earliestFreeSlot(f.calendar[f.queryDay[q]], f.queryStart[q],
+                        f.queryDuration[q]);
+            });
+            run("RoomDayCalendar.isFree (isRoomFree)", roomDays, i -> {
+                int q = i & (QUERIES - 1);
+                RoomDayCalendar room = f.calendar[f.queryDay[q]][q % SchedulingService.ROOMS.length];
+                return room.isFree(f.queryStart[q], f.queryStart[q] + f.queryDuration[q]) ? 1 : 0;
+            });
+            run("parseDurationMinutes", roomDays,
+                    i -> SchedulingService.parseDurationMinutes(DURATION_TEXTS[i & (DURATION_TEXTS.length - 1)]));
+            run("StudentScheduleIndex.overlaps", roomDays, i -> {
+                int q = i & (QUERIES - 1);
+                return f.student.overlaps(f.dates[f.queryDay[q]], f.queryStart[q],
+                        f.queryStart[q] + f.queryDuration[q]) ? 1 : 0;
+            });
+            run("candidateSlots (30 days)", roomDays, i -> {
+                int q = i & (QUERIES - 1);
+                Map<LocalDate, List<java.time.LocalTime>> slots = SchedulingService.candidateSlots(f.student,
+                        f.dates[f.queryDay[q]], 30, f.queryDuration[q]);
+                long n = 0;
+                for (List<java.time.LocalTime> day : slots.values())
+                    n += day.size();
+                return n;
+            });
+        }
+        System.out.println("(sink " + sink + ")");
+    }
+
+    private static void run(String name, int roomDays, Op op) {
+        for (int r = 0; r < WARMUP_ROUNDS; r++)
+            round(op);
+        double total = 0;
+        double best = Double.MAX_VALUE;
+        double worst = 0;
+        for (int r = 0; r < MEASURED_ROUNDS; r++) {
+            double nsPerOp = round(op);
+            total += nsPerOp;
+            best = Math.min(best, nsPerOp);
+            worst = Math.max(worst, nsPerOp);
+        }
+        System.out.printf("%-38s %9d %12.1f %12.1f %12.1f%n", name, roomDays, total / MEASURED_ROUNDS, best, worst);
+    }
+
+    // Calls op until the round time is used up. The clock is read after batches
+    // that double up to 1024 calls, so neither fast nor slow ops overshoot much.
+    private static double round(Op op) {
+        long acc = 0;
+        int calls = 0;
+        int batch = 1;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (int k = 0; k < batch; k++)
+                acc += op.run(calls++);
+            batch = Math.min(batch * 2, 1024);
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < ROUND_NANOS);
+        sink += acc;
+        return (double) elapsed / calls;
+    }
+
+    /**
+     * A synthetic exam period of roomDays room-days over SchedulingService.ROOMS:
+     * about four pending exams per room-day for the planner, the same days with
+     * each room about half booked for the lookups, and one student sitting an
+     * exam on every fifth day.
+     */
+    private static final class Fixture {
+        final int[] rowDay;
+        final int[] rowBase;
+        final int[] rowDuration;
+        final RoomDayCalendar[][] calendar;
+        final LocalDate[] dates;
+        final StudentScheduleIndex student = new StudentScheduleIndex();
+        final int[] queryDay = new int[QUERIES];
+        final int[] queryStart = new int[QUERIES];
+        final int[] queryDuration = new int[QUERIES];
+
+        Fixture(int roomDays, long seed) {
+            Random random = new Random(seed);
+            int rooms = SchedulingService.ROOMS.length;
+            int days = Math.max(1, roomDays / rooms);
+            LocalDate first = LocalDate.of(2030, 1, 7);
+            int slotsPerDay = (SchedulingService.DAY_END_MINUTE - SchedulingService.DAY_START_MINUTE)
+                    / SchedulingService.SLOT_STEP_MINUTES;
+
+            int rows = days * rooms * 4;
+            rowDay = new int[rows];
+            rowBase = new int[rows];
+            rowDuration = new int[rows];
+            for (int i = 0; i < rows; i++) {
+                rowDay[i] = (int) first.toEpochDay() + random.nextInt(days);
+                rowBase[i] = startMinute(random, slotsPerDay);
+                rowDuration[i] = DURATIONS[random.nextInt(DURATIONS.length)];
+            }
+
+            dates = new LocalDate[days];
+            calendar = new RoomDayCalendar[days][];
+            for (int d = 0; d < days; d++) {
+                dates[d] = first.plusDays(d);
+                calendar[d] = SchedulingService.newRoomCalendars();
+                for (RoomDayCalendar room : calendar[d])
+                    for (int b = 0; b < 2; b++) {
+                        int start = startMinute(random, slotsPerDay);
+                        room.occupy(start, start + DURATIONS[random.nextInt(DURATIONS.length)]);
+                    }
+                if (d % 5 == 0) {
+                    int start = startMinute(random, slotsPerDay);
+                    student.add(dates[d], start, start + DURATIONS[random.nextInt(DURATIONS.length)]);
+                }
+            }
+
+            for (int q = 0; q < QUERIES; q++) {
+                queryDay[q] = random.nextInt(days);
+                queryStart[q] = startMinute(random, slotsPerDay);
+                queryDuration[q] = DURATIONS[random.nextInt(DURATIONS.length)];
+            }
+        }
+
+        private static int startMinute(Random random, int slotsPerDay) {
+            return SchedulingService.DAY_START_MINUTE + random.nextInt(slotsPerDay) * SchedulingService.SLOT_STEP_MINUTES;
+        }
+    }
+}
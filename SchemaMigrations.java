@@ -0,0 +1,298 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versioned schema changes, run by DatabaseSetup after the tables exist.
+ * Each migration runs once; the highest applied version is kept in the
+ * schema_version table. Append new migrations to MIGRATIONS, never reorder.
+ */
+public final class SchemaMigrations {
+
+    private SchemaMigrations() {
+    }
+
+    /** A secondary index the scheduler and dashboard queries rely on. */
+    static final class IndexSpec {
+        final String table;
+        final String name;
+        final String[] columns;
+
+        IndexSpec(String table, String name, String... columns) {
+            this.table = table;
+            this.name = name;
+            this.columns = columns;
+        }
+
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+
+    // exam_schedules: per-day scans, slot reuse lookups and room calendars
+    static final IndexSpec ES_DATE = new IndexSpec("exam_schedules", "idx_es_date", "scheduled_date");
+    static final IndexSpec ES_EXAM_DATE_SLOT = new IndexSpec("exam_schedules", "idx_es_exam_date_slot",
+            "exam_id", "scheduled_date", "time_slot_id");
+    static final IndexSpec ES_ROOM_DATE = new IndexSpec("exam_schedules", "idx_es_room_date", "room_id",
+            "scheduled_date");
+    // Older databases key schedules by room name instead of room_id
+    static final IndexSpec ES_ROOM_NUMBER_DATE = new IndexSpec("exam_schedules", "idx_es_room_number_date",
+            "room_number", "scheduled_date");
+    // student_exams: enrolled counts per schedule, per-student lookups, bulk scheduler calendars
+    static final IndexSpec SE_SCHEDULE = new IndexSpec("student_exams", "idx_se_schedule", "exam_schedule_id");
+    static final IndexSpec SE_STUDENT = new IndexSpec("student_exams", "idx_se_student", "student_id");
+    static final IndexSpec SE_SCHEDULED_DATE = new IndexSpec("student_exams", "idx_se_scheduled_date",
+            "scheduled_date", "room");
+
+    // Admin tables: default sort order and prefix search of the paged listings
+    static final IndexSpec STUDENTS_NAME = new IndexSpec("students", "idx_students_name", "name");
+    static final IndexSpec STUDENTS_BALANCE = new IndexSpec("students", "idx_students_balance", "balance");
+    static final IndexSpec EXAMS_NAME = new IndexSpec("exams", "idx_exams_name", "exam_name");
+    static final IndexSpec ROOMS_NAME = new IndexSpec("rooms", "idx_rooms_name", "room_name");
+
+    static final List<IndexSpec> EXPECTED_INDEXES = Arrays.asList(ES_DATE, ES_EXAM_DATE_SLOT, ES_ROOM_DATE,
+            ES_ROOM_NUMBER_DATE, SE_SCHEDULE, SE_STUDENT, SE_SCHEDULED_DATE, STUDENTS_NAME, STUDENTS_BALANCE,
+            EXAMS_NAME, ROOMS_NAME);
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = Arrays.asList(
+            new Migration(1, "exam_schedules scheduler indexes",
+                    conn -> createIndexes(conn, ES_DATE, ES_EXAM_DATE_SLOT, ES_ROOM_DATE, ES_ROOM_NUMBER_DATE)),
+            new Migration(2, "student_exams lookup indexes",
+                    conn -> createIndexes(conn, SE_SCHEDULE, SE_STUDENT)),
+            new Migration(3, "student_exams scheduled date index",
+                    conn -> createIndexes(conn, SE_SCHEDULED_DATE)),
+            new Migration(4, "exam_schedules enrolled_count / seats_left", SchemaMigrations::addSeatCounters),
+            new Migration(5, "system_counters for admin KPIs", SystemCounters::initialize),
+            new Migration(6, "name indexes for admin table sort and search",
+                    conn -> createIndexes(conn, STUDENTS_NAME, EXAMS_NAME, ROOMS_NAME)),
+            new Migration(7, "restore exam_schedules.capacity lowered per enrollment", conn -> {
+                restoreDecrementedCapacity(conn);
+                ScheduleSeats.reconcile(conn);
+            }),
+            new Migration(8, "students balance index for admin table sort",
+                    conn -> createIndexes(conn, STUDENTS_BALANCE)));
+
+    /**
+     * Applies every migration newer than the recorded version, in order. Stops
+     * at the first failure so later migrations never run on a half-migrated
+     * schema. Then creates any expected index that an applied migration had to
+     * skip because its columns did not exist yet.
+     */
+    public static void migrate(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("""
+                        CREATE TABLE IF NOT EXISTS schema_version (
+                            version INT PRIMARY KEY,
+                            description VARCHAR(255) NOT NULL,
+                            applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                        )
+                    """);
+        }
+
+        int current = currentVersion(conn);
+        for (Migration m : MIGRATIONS) {
+            if (m.version <= current)
+                continue;
+            try {
+                m.step.apply(conn);
+                try (PreparedStatement ps = conn
+                        .prepareStatement("INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                    ps.setInt(1, m.version);
+                    ps.setString(2, m.description);
+                    ps.executeUpdate();
+                }
+                System.out.println("✅ Applied migration " + m.version + ": " + m.description);
+            } catch (SQLException e) {
+                System.err.println("❌ Migration " + m.version + " (" + m.description + ") failed: " + e.getMessage());
+                e.printStackTrace();
+                return;
+            }
+        }
+        createPendingIndexes(conn);
+    }
+
+    /**
+     * Index migrations are recorded even when they skip an index whose columns
+     * are missing, so every start retries the expected indexes whose columns
+     * exist by now. Indexes already present are left alone.
+     */
+    private static void createPendingIndexes(Connection conn) {
+        for (IndexSpec spec : EXPECTED_INDEXES) {
+            try {
+                if (columnsExist(conn, spec))
+                    createIndexes(conn, spec);
+            } catch (SQLException e) {
+                System.err.println("❌ Creating index " + spec.name + " on " + spec + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public static int currentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Prints every expected index that is missing, e.g. because its columns did
+     * not exist yet when the migration ran. Indexes over columns this schema
+     * does not have are not reported. Returns the missing ones.
+     */
+    public static List<IndexSpec> reportMissingIndexes(Connection conn) throws SQLException {
+        List<IndexSpec> missing = new ArrayList<>();
+        Map<String, List<List<String>>> cache = new HashMap<>();
+        for (IndexSpec spec : EXPECTED_INDEXES) {
+            List<List<String>> existing = cache.get(spec.table);
+            if (existing == null) {
+                existing = loadIndexes(conn, spec.table);
+                cache.put(spec.table, existing);
+            }
+            if (!isCovered(existing, spec.columns) && columnsExist(conn, spec))
+                missing.add(spec);
+        }
+        if (missing.isEmpty()) {
+            System.out.println("✅ All scheduler indexes present");
+        } else {
+            for (IndexSpec spec : missing)
+                System.err.println("⚠️ Missing index " + spec.name + " on " + spec);
+        }
+        return missing;
+    }
+
+    private static void addSeatCounters(Connection conn) throws SQLException {
+        addColumnIfMissing(conn, "exam_schedules", "capacity", "INT NOT NULL DEFAULT 30");
+        addColumnIfMissing(conn, "exam_schedules", "enrolled_count", "INT NOT NULL DEFAULT 0");
+        addColumnIfMissing(conn, "exam_schedules", "seats_left", "INT NOT NULL DEFAULT 0");
+        addColumnIfMissing(conn, "student_exams", "exam_schedule_id", "INT NULL");
+        // Backfill from the existing enrollments; capacity must be the seat total first
+        restoreDecrementedCapacity(conn);
+        ScheduleSeats.reconcile(conn);
+    }
+
+    /**
+     * Earlier versions of the testing-center scheduler lowered
+     * exam_schedules.capacity by one per enrollment instead of counting seats,
+     * so on those databases capacity holds seats left, and seats_left =
+     * capacity - enrollments would subtract every enrollment twice. Only that
+     * scheduler's schedules were affected: it created them with a time slot,
+     * a room_number and the room's capacity, and only enrolled into schedules
+     * with a time slot. Their capacity is reset to the room's current
+     * capacity, assuming rooms were not resized since. Schedules whose room
+     * is gone are left alone. Idempotent; run before ScheduleSeats.reconcile().
+     */
+    private static void restoreDecrementedCapacity(Connection conn) throws SQLException {
+        if (!columnsExist(conn, new IndexSpec("exam_schedules", null, "capacity", "time_slot_id", "room_number")))
+            return; // the old scheduler could not have run against this schema
+        try (Statement stmt = conn.createStatement()) {
+            int restored = stmt.executeUpdate("UPDATE exam_schedules es JOIN rooms r ON r.room_name = es.room_number "
+                    + "SET es.capacity = r.capacity WHERE es.time_slot_id IS NOT NULL AND es.capacity <> r.capacity");
+            if (restored > 0)
+                System.out.println("✅ Restored capacity of " + restored + " testing-center schedule(s)");
+        }
+    }
+
+    private static void addColumnIfMissing(Connection conn, String table, String column, String definition)
+            throws SQLException {
+        if (columnsExist(conn, new IndexSpec(table, null, column)))
+            return;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            System.out.println("✅ Added " + column + " column to " + table + " table");
+        }
+    }
+
+    private static void createIndexes(Connection conn, IndexSpec... specs) throws SQLException {
+        for (IndexSpec spec : specs) {
+            if (!columnsExist(conn, spec)) {
+                System.out.println("ℹ️ Skipping index " + spec.name + ": " + spec
+                        + " does not exist here; retried on each start");
+                continue;
+            }
+            // FK constraints already index some leading columns; do not duplicate them
+            if (isCovered(loadIndexes(conn, spec.table), spec.columns))
+                continue;
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("ALTER TABLE " + spec.table + " ADD INDEX " + spec.name + " ("
+                        + String.join(", ", spec.columns) + ")");
+                System.out.println("✅ Created index " + spec.name + " on " + spec);
+            }
+        }
+    }
+
+    // Column lists of every index on the table, in index order
+    private static List<List<String>> loadIndexes(Connection conn, String table) throws SQLException {
+        Map<String, List<String>> byName = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("""
+                    SELECT INDEX_NAME, COLUMN_NAME
+                    FROM information_schema.STATISTICS
+                    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?
+                    ORDER BY INDEX_NAME, SEQ_IN_INDEX
+                """)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next())
+                    byName.computeIfAbsent(rs.getString(1), k -> new ArrayList<>())
+                            .add(rs.getString(2).toLowerCase());
+            }
+        }
+        return new ArrayList<>(byName.values());
+    }
+
+    // True if some index starts with exactly these columns
+    private static boolean isCovered(List<List<String>> indexes, String[] columns) {
+        for (List<String> index : indexes) {
+            if (index.size() < columns.length)
+                continue;
+            boolean prefix = true;
+            for (int i = 0; i < columns.length && prefix; i++)
+                prefix = index.get(i).equals(columns[i]);
+            if (prefix)
+                return true;
+        }
+        return false;
+    }
+
+    private static boolean columnsExist(Connection conn, IndexSpec spec) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(spec.columns.length, "?"));
+        try (PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM information_schema.COLUMNS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME IN (" + placeholders + ")")) {
+            ps.setString(1, spec.table);
+            for (int i = 0; i < spec.columns.length; i++)
+                ps.setString(i + 2, spec.columns[i]);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1) == spec.columns.length;
+            }
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency stress check for seat reservation and schedule creation, run by
+ * hand against a local database like DatabaseConnection.main():
+ *
+ * java dao.SeatReservationCheck [students] [capacity]
+ *
+ * First creates a throwaway schedule with a small capacity and releases every
+ * student at once into enrollStudentIntoSchedule() on separate pooled
+ * connections, then verifies nothing was overbooked and the seat counters
+ * match student_exams. Then it releases every student at once into
+ * scheduleAndEnrollExam() for a fresh exam with no schedules, so concurrent
+ * transactions race to create schedules for the same rooms and times, and
+ * checks with EnrollmentLoadTest.verify() that no room or student is booked
+ * twice. While those enrollments exist, it checks that the chunked
+ * StudentScheduleIndex.loadAll() gives every student the same exams as
+ * load(). Everything it created is deleted afterwards. Exits with status 1 on
+ * a violation.
+ */
+public final class SeatReservationCheck {
+
+    private SeatReservationCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int wanted = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        List<Integer> students = new ArrayList<>();
+        int examId;
+        int roomId;
+        int courseId;
+        int scheduleId;
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null) {
+                System.err.println("❌ No database connection");
+                System.exit(1);
+                return;
+            }
+            try (Statement st = conn.createStatement()) {
+                try (ResultSet rs = st.executeQuery("SELECT id FROM students ORDER BY id LIMIT " + wanted)) {
+                    while (rs.next())
+                        students.add(rs.getInt(1));
+                }
+                examId = firstId(st, "SELECT id FROM exams ORDER BY id LIMIT 1");
+                roomId = firstId(st, "SELECT id FROM rooms ORDER BY id LIMIT 1");
+                courseId = firstId(st, "SELECT id FROM courses ORDER BY id LIMIT 1");
+            }
+            if (students.size() <= capacity || examId < 0 || roomId < 0 || courseId < 0) {
+                System.err.println("❌ Need more than " + capacity + " students plus one exam, room and course");
+                System.exit(1);
+                return;
+            }
+            // Far-future date so the check never collides with real schedules
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO exam_schedules (exam_id, room_id, scheduled_date, scheduled_time, capacity, seats_left) "
+                            + "VALUES (?, ?, '2099-12-31', '09:00:00', ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                ps.setInt(1, examId);
+                ps.setInt(2, roomId);
+                ps.setInt(3, capacity);
+                ps.setInt(4, capacity);
+                ps.executeUpdate();
+                try (ResultSet gk = ps.getGeneratedKeys()) {
+                    gk.next();
+                    scheduleId = gk.getInt(1);
+                }
+            }
+        }
+
+        boolean ok = false;
+        try {
+            ok = run(students, scheduleId, capacity);
+        } finally {
+            try (Connection conn = DatabaseConnection.requireConnection();
+                    PreparedStatement delSe = conn.prepareStatement("DELETE FROM student_exams WHERE exam_schedule_id = ?");
+                    PreparedStatement delEs = conn.prepareStatement("DELETE FROM exam_schedules WHERE id = ?")) {
+                delSe.setInt(1, scheduleId);
+                // enrollStudentIntoSchedule counted each of these as a paid enrollment
+                SystemCounters.add(conn, SystemCounters.PAID_ENROLLMENTS, -delSe.executeUpdate());
+                delEs.setInt(1, scheduleId);
+                delEs.executeUpdate();
+            }
+        }
+
+        // Every student at once into one exam with no schedules: each transaction
+        // creates a schedule in the same first free room and time unless the room
+        // lock and the locking overlap read make it see the others' schedules
+        List<Integer> exams = new ArrayList<>();
+        try {
+            try (Connection conn = DatabaseConnection.requireConnection()) {
+                exams.addAll(EnrollmentLoadTest.createExams(conn, courseId, 1));
+            }
+            System.out.println("Schedule creation race:");
+            ok &= EnrollmentLoadTest.run(students, exams, students.size(), students.size(), "smart");
+            ok &= checkBulkLoad(students);
+        } finally {
+            EnrollmentLoadTest.cleanUp(exams);
+            System.out.println("Pool: " + DatabaseConnection.getPoolStats());
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    private static boolean run(List<Integer> students, int scheduleId, int capacity) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(students.size());
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        for (int studentId : students) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    try (Connection conn = DatabaseConnection.requireConnection()) {
+                        conn.setAutoCommit(false);
+                        int regId = SchedulingService.enrollStudentIntoSchedule(studentId, scheduleId, conn);
+                        conn.commit();
+                        if (regId > 0)
+                            enrolled.incrementAndGet();
+                        else
+                            full.incrementAndGet();
+                    }
+                } catch (SQLException e) {
+                    errors.incrementAndGet();
+                    System.err.println("Enrollment for student " + studentId + " failed: " + e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        long t0 = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(2, TimeUnit.MINUTES);
+        long elapsedMs = (System.nanoTime() - t0) / 1_000_000;
+
+        int rows;
+        int enrolledCount;
+        int seatsLeft;
+        try (Connection conn = DatabaseConnection.requireConnection();
+                PreparedStatement ps = conn.prepareStatement(
+                        "SELECT (SELECT COUNT(*) FROM student_exams WHERE exam_schedule_id = es.id), es.enrolled_count, es.seats_left "
+                                + "FROM exam_schedules es WHERE es.id = ?")) {
+            ps.setInt(1, scheduleId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                rows = rs.getInt(1);
+                enrolledCount = rs.getInt(2);
+                seatsLeft = rs.getInt(3);
+            }
+        }
+
+        System.out.printf("%d students, capacity %d: %d enrolled, %d turned away, %d errors in %d ms%n",
+                students.size(), capacity, enrolled.get(), full.get(), errors.get(), elapsedMs);
+        System.out.printf("student_exams rows=%d enrolled_count=%d seats_left=%d%n", rows, enrolledCount, seatsLeft);
+
+        boolean ok = true;
+        if (rows > capacity) {
+            System.err.println("❌ Overbooked: " + rows + " enrollments for " + capacity + " seats");
+            ok = false;
+        }
+        if (rows != enrolled.get() || enrolledCount != rows || seatsLeft != capacity - rows) {
+            System.err.println("❌ Seat counters disagree with student_exams");
+            ok = false;
+        }
+        if (ok)
+            System.out.println("✅ No overbooking; counters consistent");
+        return ok;
+    }
+
+    // Chunk sizes of one, a few, and the default, so the IN list is split unevenly
+    private static boolean checkBulkLoad(List<Integer> students) throws SQLException {
+        int mismatches = 0;
+        try (Connection conn = DatabaseConnection.requireConnection()) {
+            Map<Integer, Integer> expected = new HashMap<>();
+            for (int studentId : students)
+                expected.put(studentId, StudentScheduleIndex.load(conn, studentId).size());
+            for (int chunkSize : new int[] { 1, 7, 1000 }) {
+                Map<Integer, StudentScheduleIndex> bulk = StudentScheduleIndex.loadAll(conn, students, chunkSize);
+                for (int studentId : students) {
+                    StudentScheduleIndex index = bulk.get(studentId);
+                    if (index == null || index.size() != expected.get(studentId)) {
+                        System.err.println("❌ loadAll (chunks of " + chunkSize + ") disagrees with load() for student "
+                                + studentId);
+                        mismatches++;
+                    }
+                }
+            }
+        }
+        if (mismatches == 0)
+            System.out.println("✅ Bulk student schedule load matches per-student load");
+        return mismatches == 0;
+    }
+
+    private static int firstId(Statement st, String sql) throws SQLException {
+        try (ResultSet rs = st.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+}
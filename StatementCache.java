@@ -0,0 +1,256 @@
+package dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prepared statements of one physical pooled connection, kept across borrows
+ * and keyed by SQL text and prepare options, so a hot query is parsed and
+ * planned once per connection instead of once per call. Callers get a proxy;
+ * closing it clears the parameters and returns the statement to an LRU of at
+ * most capacity entries, and the least recently used is closed on overflow.
+ * A statement whose settings the caller changed (fetch size, max rows,
+ * timeout, ...) is closed for real instead of being reused. Statements the
+ * borrower forgot to close, cached or not, are closed when the connection
+ * goes back to the pool, which also closes their result sets. The cache
+ * lives and dies with its connection: closing the connection closes them all.
+ */
+final class StatementCache {
+
+    /** Pool-wide statement metrics, shared by every cache of a pool. */
+    static final class Counters {
+        final AtomicLong prepares = new AtomicLong();
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong executions = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+        final AtomicLong reclaimed = new AtomicLong();
+    }
+
+    // Statement-level settings that would leak into the next borrower if the statement were reused
+    private static final Set<String> SETTINGS = Set.of("setFetchSize", "setFetchDirection", "setMaxRows",
+            "setLargeMaxRows", "setMaxFieldSize", "setQueryTimeout", "setEscapeProcessing", "setCursorName",
+            "setPoolable", "closeOnCompletion");
+
+    private final Connection physical;
+    private final int capacity;
+    private final Counters counters;
+    private final Map<String, Entry> entries;
+    // Everything handed out during the current borrow that may still be open
+    private final List<Checkout> checkedOut = new ArrayList<>();
+    private final List<Statement> plainStatements = new ArrayList<>();
+    private Connection logical;
+
+    StatementCache(Connection physical, int capacity, Counters counters) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.counters = counters;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= StatementCache.this.capacity)
+                    return false;
+                counters.evictions.incrementAndGet();
+                Entry e = eldest.getValue();
+                e.evicted = true;
+                if (!e.inUse)
+                    closeQuietly(e.statement);
+                return true;
+            }
+        };
+    }
+
+    /** Starts a borrow; statements report this proxy as their connection. */
+    synchronized void lease(Connection logicalConnection) {
+        this.logical = logicalConnection;
+    }
+
+    /**
+     * prepareStatement(sql), (sql, autoGeneratedKeys) or (sql, resultSetType,
+     * resultSetConcurrency); other overloads go through track().
+     */
+    synchronized PreparedStatement prepare(String sql, int option1, int option2, int optionCount)
+            throws SQLException {
+        String key = optionCount + ":" + option1 + ":" + option2 + ":" + sql;
+        Entry entry = capacity > 0 ? entries.get(key) : null;
+        if (entry != null && !entry.inUse) {
+            counters.hits.incrementAndGet();
+        } else {
+            PreparedStatement statement = prepareRaw(sql, option1, option2, optionCount);
+            if (entry != null || capacity <= 0)
+                return checkOut(new Entry(null, statement)); // same SQL already in use: a one-off copy
+            entry = new Entry(key, statement);
+            entries.put(key, entry);
+        }
+        return checkOut(entry);
+    }
+
+    /** Remembers a statement the cache does not manage so it is closed at the end of the borrow. */
+    synchronized <S extends Statement> S track(S statement) {
+        if (plainStatements.size() >= 32)
+            plainStatements.removeIf(StatementCache::isClosedQuietly);
+        plainStatements.add(statement);
+        return statement;
+    }
+
+    /** Ends a borrow, closing whatever the borrower left open. */
+    synchronized void release() {
+        for (Checkout c : new ArrayList<>(checkedOut)) {
+            counters.reclaimed.incrementAndGet();
+            c.close();
+        }
+        checkedOut.clear();
+        for (Statement s : plainStatements) {
+            if (!isClosedQuietly(s)) {
+                counters.reclaimed.incrementAndGet();
+                closeQuietly(s);
+            }
+        }
+        plainStatements.clear();
+        logical = null;
+    }
+
+    private PreparedStatement prepareRaw(String sql, int option1, int option2, int optionCount)
+            throws SQLException {
+        counters.prepares.incrementAndGet();
+        switch (optionCount) {
+            case 0:
+                return physical.prepareStatement(sql);
+            case 1:
+                return physical.prepareStatement(sql, option1);
+            default:
+                return physical.prepareStatement(sql, option1, option2);
+        }
+    }
+
+    private PreparedStatement checkOut(Entry entry) {
+        entry.inUse = true;
+        Checkout c = new Checkout(entry);
+        checkedOut.add(c);
+        return c.proxy;
+    }
+
+    // Called with the cache lock held, from Checkout.close()
+    private void checkIn(Checkout c) {
+        checkedOut.remove(c);
+        Entry entry = c.entry;
+        entry.inUse = false;
+        if (entry.key == null || entry.evicted || c.dirty || !reset(entry.statement)) {
+            if (entry.key != null && !entry.evicted)
+                entries.remove(entry.key);
+            closeQuietly(entry.statement);
+        }
+    }
+
+    private static boolean reset(PreparedStatement statement) {
+        try {
+            ResultSet open = statement.getResultSet();
+            if (open != null)
+                open.close();
+            statement.clearParameters();
+            statement.clearBatch();
+            statement.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static boolean isClosedQuietly(Statement s) {
+        try {
+            return s.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    private static void closeQuietly(Statement s) {
+        try {
+            s.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private static final class Entry {
+        final String key; // null for a one-off statement that is never cached
+        final PreparedStatement statement;
+        boolean inUse;
+        boolean evicted;
+
+        Entry(String key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+
+    /**
+     * One hand-out of a statement. close() returns it to the cache; after that
+     * this proxy refuses use even though the statement lives on.
+     */
+    private final class Checkout implements InvocationHandler {
+        final Entry entry;
+        final PreparedStatement proxy;
+        boolean closed;
+        boolean dirty;
+
+        Checkout(Entry entry) {
+            this.entry = entry;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class }, this);
+        }
+
+        void close() {
+            synchronized (StatementCache.this) {
+                if (!closed) {
+                    closed = true;
+                    checkIn(this);
+                }
+            }
+        }
+
+        @Override
+        public Object invoke(Object self, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    close();
+                    return null;
+                case "isClosed":
+                    return closed || entry.statement.isClosed();
+                case "getConnection":
+                    return logical;
+                case "equals":
+                    return self == args[0];
+                case "hashCode":
+                    return System.identityHashCode(self);
+                case "toString":
+                    return "Cached[" + entry.statement + "]";
+                default:
+                    break;
+            }
+            if (closed)
+                throw new SQLException("Statement is closed");
+            if (name.startsWith("execute"))
+                counters.executions.incrementAndGet();
+            else if (SETTINGS.contains(name))
+                dirty = true;
+            try {
+                return method.invoke(entry.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -1,231 +1,348 @@
-package dao;
-
-import models.Student;
-import java.sql.*;
-import java.util.ArrayList;
-import java.util.List;
-
-public class StudentDAO {
-
-    // Ensure table exists (adds balance column if missing)
-    public StudentDAO() {
-        ensureTable();
-    }
-
-    private void ensureTable() {
-        String create = """
-                CREATE TABLE IF NOT EXISTS students (
-                    id INT AUTO_INCREMENT PRIMARY KEY,
-                    name VARCHAR(150) NOT NULL,
-                    email VARCHAR(150) UNIQUE NOT NULL,
-                    password VARCHAR(255) NOT NULL,
-                    course_id INT,
-                    balance DECIMAL(10,2) NOT NULL DEFAULT 0.00,
-                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-                )
-                """;
-        try (Connection conn = DatabaseConnection.getConnection(); Statement st = conn.createStatement()) {
-            st.executeUpdate(create);
-            // Add balance column if older table version
-            try (ResultSet rs = st.executeQuery(
-                    "SELECT * FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME='students' AND COLUMN_NAME='balance'")) {
-                if (!rs.next()) {
-                    st.executeUpdate("ALTER TABLE students ADD COLUMN balance DECIMAL(10,2) NOT NULL DEFAULT 0.00");
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error ensuring students table: " + e.getMessage());
-        }
-    }
-
-    public Student loginStudent(String emailOrUsername, String password) {
-        // Accept either email or name as login handle
-        String sql = "SELECT * FROM students WHERE (email = ? OR name = ?) AND password = ?";
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, emailOrUsername);
-            ps.setString(2, emailOrUsername);
-            ps.setString(3, password);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return new Student(
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("email"),
-                            rs.getString("password"),
-                            rs.getInt("course_id"));
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error logging in student: " + e.getMessage());
-        }
-        return null;
-    }
-
-    public boolean registerStudent(Student student) {
-        String sql = "INSERT INTO students (name, email, password, course_id, balance) VALUES (?, ?, ?, ?, 0.00)";
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, student.getName());
-            ps.setString(2, student.getEmail());
-            ps.setString(3, student.getPassword());
-            ps.setInt(4, student.getCourseId());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("duplicate")) {
-                System.err.println("Registration failed: email already exists");
-            } else {
-                System.err.println("Error registering student: " + e.getMessage());
-            }
-            return false;
-        }
-    }
-
-    public List<Student> getAllStudents() {
-        List<Student> list = new ArrayList<>();
-        String sql = """
-                SELECT s.id, s.name, s.email, s.password, s.course_id, s.balance,
-                       COALESCE(c.name, 'No Course') as course_name
-                FROM students s
-                LEFT JOIN courses c ON s.course_id = c.id
-                ORDER BY s.id
-                """;
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-            while (rs.next()) {
-                Student student = new Student(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getString("email"),
-                        rs.getString("password"),
-                        rs.getInt("course_id"),
-                        rs.getDouble("balance"));
-                student.setCourseName(rs.getString("course_name"));
-                list.add(student);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching students: " + e.getMessage());
-        }
-        return list;
-    }
-
-    public Student getStudentById(int id) {
-        String sql = """
-                SELECT s.id, s.name, s.email, s.password, s.course_id, s.balance,
-                       COALESCE(c.name, 'No Course') as course_name
-                FROM students s
-                LEFT JOIN courses c ON s.course_id = c.id
-                WHERE s.id = ?
-                """;
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Student student = new Student(
-                            rs.getInt("id"),
-                            rs.getString("name"),
-                            rs.getString("email"),
-                            rs.getString("password"),
-                            rs.getInt("course_id"),
-                            rs.getDouble("balance"));
-                    student.setCourseName(rs.getString("course_name"));
-                    return student;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error fetching student by ID: " + e.getMessage());
-        }
-        return null;
-    }
-
-    public boolean addStudent(Student student) {
-        String sql = "INSERT INTO students (name, email, password, course_id, balance) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, student.getName());
-            ps.setString(2, student.getEmail());
-            ps.setString(3, student.getPassword());
-            ps.setInt(4, student.getCourseId());
-            ps.setDouble(5, student.getBalance());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("duplicate")) {
-                System.err.println("Add student failed: email already exists");
-            } else {
-                System.err.println("Error adding student: " + e.getMessage());
-            }
-            return false;
-        }
-    }
-
-    public boolean updateStudent(Student student) {
-        String sql = "UPDATE students SET name = ?, email = ?, course_id = ?, balance = ? WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, student.getName());
-            ps.setString(2, student.getEmail());
-            ps.setInt(3, student.getCourseId());
-            ps.setDouble(4, student.getBalance());
-            ps.setInt(5, student.getId());
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error updating student: " + e.getMessage());
-            return false;
-        }
-    }
-
-    public boolean deleteStudent(int id) {
-        // First check if student has enrollments
-        String checkSql = "SELECT COUNT(*) FROM student_exams WHERE student_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-                PreparedStatement checkPs = conn.prepareStatement(checkSql)) {
-            checkPs.setInt(1, id);
-            try (ResultSet rs = checkPs.executeQuery()) {
-                if (rs.next() && rs.getInt(1) > 0) {
-                    // Student has enrollments, delete them first
-                    String deleteEnrollments = "DELETE FROM student_exams WHERE student_id = ?";
-                    try (PreparedStatement deletePs = conn.prepareStatement(deleteEnrollments)) {
-                        deletePs.setInt(1, id);
-                        deletePs.executeUpdate();
-                    }
-                }
-            }
-
-            // Now delete the student
-            String deleteSql = "DELETE FROM students WHERE id = ?";
-            try (PreparedStatement deletePs = conn.prepareStatement(deleteSql)) {
-                deletePs.setInt(1, id);
-                return deletePs.executeUpdate() > 0;
-            }
-        } catch (SQLException e) {
-            System.err.println("Error deleting student: " + e.getMessage());
-            return false;
-        }
-    }
-
-    public boolean updateBalance(int studentId, double delta) {
-        String sql = "UPDATE students SET balance = balance + ? WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setDouble(1, delta);
-            ps.setInt(2, studentId);
-            return ps.executeUpdate() > 0;
-        } catch (SQLException e) {
-            System.err.println("Error updating balance: " + e.getMessage());
-            return false;
-        }
-    }
-
-    public double getBalance(int studentId) {
-        String sql = "SELECT balance FROM students WHERE id = ?";
-        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, studentId);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next())
-                    return rs.getDouble(1);
-            }
-        } catch (SQLException e) {
-            System.err.println("Error getting balance: " + e.getMessage());
-        }
-        return 0.0;
-    }
-}
+package dao;
+
+import models.Student;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class StudentDAO {
+
+    // False if the table check could not reach the database
+    private final boolean tableReady;
+
+    // Ensure table exists (adds balance column if missing)
+    public StudentDAO() {
+        tableReady = ensureTable();
+    }
+
+    boolean isTableReady() {
+        return tableReady;
+    }
+
+    private boolean ensureTable() {
+        String create = """
+                CREATE TABLE IF NOT EXISTS students (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    name VARCHAR(150) NOT NULL,
+                    email VARCHAR(150) UNIQUE NOT NULL,
+                    password VARCHAR(255) NOT NULL,
+                    course_id INT,
+                    balance DECIMAL(10,2) NOT NULL DEFAULT 0.00,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+                """;
+        try (Connection conn = DatabaseConnection.requireConnection(); Statement st = conn.createStatement()) {
+            st.executeUpdate(create);
+            // Add balance column if older table version
+            try (ResultSet rs = st.executeQuery(
+                    "SELECT * FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME='students' AND COLUMN_NAME='balance'")) {
+                if (!rs.next()) {
+                    st.executeUpdate("ALTER TABLE students ADD COLUMN balance DECIMAL(10,2) NOT NULL DEFAULT 0.00");
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error ensuring students table: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Each branch is an index seek (the unique email key, idx_students_name); an OR across them scans
+    private static final String LOGIN_LOOKUP = "SELECT id, name, email, password, course_id FROM students WHERE email = ? "
+            + "UNION SELECT id, name, email, password, course_id FROM students WHERE name = ? LIMIT 10";
+
+    /**
+     * Accepts either email or name as the login handle. Names are not unique,
+     * so the password is checked against each account the handle matches.
+     * Runs a slow hash; call through AuthService.loginStudent, off the EDT.
+     */
+    public Student loginStudent(String emailOrUsername, String password) {
+        try {
+            return authenticate(emailOrUsername, password);
+        } catch (SQLException e) {
+            System.err.println("Error logging in student: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // loginStudent() without swallowing database errors, so AuthService can tell them from bad credentials
+    Student authenticate(String emailOrUsername, String password) throws SQLException {
+        try (Connection conn = DatabaseConnection.requireConnection();
+                PreparedStatement ps = conn.prepareStatement(LOGIN_LOOKUP)) {
+            ps.setString(1, emailOrUsername);
+            ps.setString(2, emailOrUsername);
+            boolean found = false;
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    found = true;
+                    String stored = rs.getString("password");
+                    if (AuthService.verify(password, stored)) {
+                        Student student = new Student(
+                                rs.getInt("id"),
+                                rs.getString("name"),
+                                rs.getString("email"),
+                                stored,
+                                rs.getInt("course_id"));
+                        if (AuthService.needsRehash(stored))
+                            rehashPassword(conn, student, password);
+                        return student;
+                    }
+                }
+            }
+            if (!found)
+                AuthService.verify(password, null);
+        }
+        return null;
+    }
+
+    // Replaces a plaintext or outdated hash, unless the password changed meanwhile
+    private static void rehashPassword(Connection conn, Student student, String password) throws SQLException {
+        String hashed = AuthService.hash(password);
+        try (PreparedStatement ps = conn
+                .prepareStatement("UPDATE students SET password = ? WHERE id = ? AND password = ?")) {
+            ps.setString(1, hashed);
+            ps.setInt(2, student.getId());
+            ps.setString(3, student.getPassword());
+            if (ps.executeUpdate() > 0)
+                student.setPassword(hashed);
+        }
+    }
+
+    public boolean registerStudent(Student student) {
+        String sql = "INSERT INTO students (name, email, password, course_id, balance) VALUES (?, ?, ?, ?, 0.00)";
+        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, student.getName());
+            ps.setString(2, student.getEmail());
+            ps.setString(3, AuthService.hashIfPlain(student.getPassword()));
+            ps.setInt(4, student.getCourseId());
+            boolean inserted = insertCounted(conn, ps);
+            LoginGate.forget(AuthService.STUDENT, student.getEmail());
+            LoginGate.forget(AuthService.STUDENT, student.getName());
+            return inserted;
+        } catch (SQLException e) {
+            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("duplicate")) {
+                System.err.println("Registration failed: email already exists");
+            } else {
+                System.err.println("Error registering student: " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // Inserts the student and bumps the students counter in one transaction
+    private static boolean insertCounted(Connection conn, PreparedStatement insert) throws SQLException {
+        conn.setAutoCommit(false);
+        boolean inserted = insert.executeUpdate() > 0;
+        if (inserted)
+            SystemCounters.add(conn, SystemCounters.STUDENTS, 1);
+        conn.commit();
+        return inserted;
+    }
+
+    public List<Student> getAllStudents() {
+        List<Student> list = new ArrayList<>();
+        String sql = """
+                SELECT s.id, s.name, s.email, s.password, s.course_id, s.balance,
+                       COALESCE(c.name, 'No Course') as course_name
+                FROM students s
+                LEFT JOIN courses c ON s.course_id = c.id
+                ORDER BY s.id
+                """;
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                Student student = new Student(
+                        rs.getInt("id"),
+                        rs.getString("name"),
+                        rs.getString("email"),
+                        rs.getString("password"),
+                        rs.getInt("course_id"),
+                        rs.getDouble("balance"));
+                student.setCourseName(rs.getString("course_name"));
+                list.add(student);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching students: " + e.getMessage());
+        }
+        return list;
+    }
+
+    // Columns the admin student table can sort by; each has an index to walk
+    // (primary key, unique email, idx_students_name, idx_students_balance)
+    private static final Map<String, String> STUDENT_SORTS = Map.of(
+            "id", "s.id",
+            "name", "s.name",
+            "email", "s.email",
+            "balance", "s.balance");
+
+    /**
+     * Pages of students with their enrollment counts for the admin student
+     * table, in id order unless sortBy names one of STUDENT_SORTS. A search
+     * keeps students whose name or email starts with the text. Each count is
+     * an idx_se_student probe for the page's rows only, so a page costs the
+     * same however large student_exams grows. The password hash is not read;
+     * the table never shows it.
+     */
+    public KeysetPager<Student> studentPager(String sortBy, boolean descending, String search) {
+        KeysetPager<Student> pager = new KeysetPager<>(
+                "s.id, s.name, s.email, s.course_id, s.balance, "
+                        + "COALESCE(c.name, 'No Course') as course_name, "
+                        + "(SELECT COUNT(*) FROM student_exams se WHERE se.student_id = s.id) as enrollments",
+                "students s LEFT JOIN courses c ON s.course_id = c.id",
+                new String[] { "s.id" }, SystemCounters.STUDENTS, "students",
+                rs -> {
+                    Student student = new Student(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            rs.getString("email"),
+                            null,
+                            rs.getInt("course_id"),
+                            rs.getDouble("balance"));
+                    student.setCourseName(rs.getString("course_name"));
+                    student.setEnrollmentCount(rs.getInt("enrollments"));
+                    return student;
+                });
+        return pager.sortedBy(KeysetPager.sortColumn(STUDENT_SORTS, sortBy), descending)
+                .matching(search, "s.name", "s.email");
+    }
+
+    public Student getStudentById(int id) {
+        String sql = """
+                SELECT s.id, s.name, s.email, s.password, s.course_id, s.balance,
+                       COALESCE(c.name, 'No Course') as course_name
+                FROM students s
+                LEFT JOIN courses c ON s.course_id = c.id
+                WHERE s.id = ?
+                """;
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Student student = new Student(
+                            rs.getInt("id"),
+                            rs.getString("name"),
+                            rs.getString("email"),
+                            rs.getString("password"),
+                            rs.getInt("course_id"),
+                            rs.getDouble("balance"));
+                    student.setCourseName(rs.getString("course_name"));
+                    return student;
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching student by ID: " + e.getMessage());
+        }
+        return null;
+    }
+
+    public boolean addStudent(Student student) {
+        String sql = "INSERT INTO students (name, email, password, course_id, balance) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, student.getName());
+            ps.setString(2, student.getEmail());
+            ps.setString(3, AuthService.hashIfPlain(student.getPassword()));
+            ps.setInt(4, student.getCourseId());
+            ps.setDouble(5, student.getBalance());
+            boolean inserted = insertCounted(conn, ps);
+            LoginGate.forget(AuthService.STUDENT, student.getEmail());
+            LoginGate.forget(AuthService.STUDENT, student.getName());
+            return inserted;
+        } catch (SQLException e) {
+            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("duplicate")) {
+                System.err.println("Add student failed: email already exists");
+            } else {
+                System.err.println("Error adding student: " + e.getMessage());
+            }
+            return false;
+        }
+    }
+
+    public boolean updateStudent(Student student) {
+        String sql = "UPDATE students SET name = ?, email = ?, course_id = ?, balance = ? WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, student.getName());
+            ps.setString(2, student.getEmail());
+            ps.setInt(3, student.getCourseId());
+            ps.setDouble(4, student.getBalance());
+            ps.setInt(5, student.getId());
+            boolean updated = ps.executeUpdate() > 0;
+            StudentDashboardDAO.invalidate(student.getId());
+            return updated;
+        } catch (SQLException e) {
+            System.err.println("Error updating student: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean deleteStudent(int id) {
+        // First check if student has enrollments
+        String checkSql = "SELECT COUNT(*) FROM student_exams WHERE student_id = ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+                PreparedStatement checkPs = conn.prepareStatement(checkSql)) {
+            // Seat counters and enrollments change together; an exception before commit()
+            // is rolled back when the pooled connection is returned
+            conn.setAutoCommit(false);
+            SystemCounters.beforeStudentDelete(conn, id);
+            checkPs.setInt(1, id);
+            try (ResultSet rs = checkPs.executeQuery()) {
+                if (rs.next() && rs.getInt(1) > 0) {
+                    // Student has enrollments, free their seats and delete them first
+                    ScheduleSeats.releaseAllForStudent(conn, id);
+                    String deleteEnrollments = "DELETE FROM student_exams WHERE student_id = ?";
+                    try (PreparedStatement deletePs = conn.prepareStatement(deleteEnrollments)) {
+                        deletePs.setInt(1, id);
+                        deletePs.executeUpdate();
+                    }
+                }
+            }
+
+            // Now delete the student
+            String deleteSql = "DELETE FROM students WHERE id = ?";
+            try (PreparedStatement deletePs = conn.prepareStatement(deleteSql)) {
+                deletePs.setInt(1, id);
+                boolean deleted = deletePs.executeUpdate() > 0;
+                if (deleted)
+                    SystemCounters.add(conn, SystemCounters.STUDENTS, -1);
+                conn.commit();
+                StudentDashboardDAO.invalidate(id);
+                return deleted;
+            }
+        } catch (SQLException e) {
+            System.err.println("Error deleting student: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean updateBalance(int studentId, double delta) {
+        String sql = "UPDATE students SET balance = balance + ? WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setDouble(1, delta);
+            ps.setInt(2, studentId);
+            boolean updated = ps.executeUpdate() > 0;
+            StudentDashboardDAO.invalidate(studentId);
+            return updated;
+        } catch (SQLException e) {
+            System.err.println("Error updating balance: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public double getBalance(int studentId) {
+        String sql = "SELECT balance FROM students WHERE id = ?";
+        try (Connection conn = DatabaseConnection.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next())
+                    return rs.getDouble(1);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error getting balance: " + e.getMessage());
+        }
+        return 0.0;
+    }
+}
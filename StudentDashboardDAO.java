@@ -0,0 +1,167 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Everything the student portal shows, read in one round trip: the student
+ * row with its course joined to every enrollment and its schedule, exam and
+ * room, from which the status counters and the upcoming list are derived.
+ * Snapshots are cached per student for exam.portal.snapshotTtlSeconds
+ * (default 30), which bounds staleness from writers that do not invalidate,
+ * such as other clients. Enrollment, payment and student edits call
+ * invalidate() after they commit; a snapshot loaded while an invalidation
+ * happened is returned but not cached.
+ */
+public class StudentDashboardDAO {
+
+    private static final long TTL_MS = Long.getLong("exam.portal.snapshotTtlSeconds", 30L) * 1000L;
+
+    // CURDATE() comes back with the rows so the counters use the database's date, as the old queries did
+    private static final String SELECT_DASHBOARD = "SELECT s.name, c.name AS course_name, s.balance, CURDATE() AS today, "
+            + "es.id AS schedule_id, se.status, se.is_paid, es.scheduled_date, es.scheduled_time, "
+            + "e.exam_name, e.duration, r.room_name "
+            + "FROM students s "
+            + "LEFT JOIN courses c ON c.id = s.course_id "
+            + "LEFT JOIN student_exams se ON se.student_id = s.id "
+            + "LEFT JOIN exam_schedules es ON es.id = se.exam_schedule_id "
+            + "LEFT JOIN exams e ON e.id = es.exam_id "
+            + "LEFT JOIN rooms r ON r.id = es.room_id "
+            + "WHERE s.id = ? "
+            + "ORDER BY es.scheduled_date, es.scheduled_time";
+
+    private static final Map<Integer, Snapshot> CACHE = new ConcurrentHashMap<>();
+    // Bumped by every invalidation so loads that overlapped one are not cached
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /** One row of the upcoming exams list. */
+    public static final class UpcomingExam {
+        public final String examName;
+        public final Date scheduledDate;
+        public final Time scheduledTime;
+        public final String roomName;
+        public final String duration;
+        public final String status;
+        public final boolean paid;
+
+        UpcomingExam(String examName, Date scheduledDate, Time scheduledTime, String roomName, String duration,
+                String status, boolean paid) {
+            this.examName = examName;
+            this.scheduledDate = scheduledDate;
+            this.scheduledTime = scheduledTime;
+            this.roomName = roomName;
+            this.duration = duration;
+            this.status = status;
+            this.paid = paid;
+        }
+    }
+
+    /** The portal's view of one student; name is null if the student does not exist. */
+    public static final class Snapshot {
+        public final String name;
+        public final String courseName;
+        public final double balance;
+        public final int enrolled; // upcoming exams with status Enrolled
+        public final int completed; // Completed, or scheduled before today
+        public final int pending; // unpaid
+        public final List<UpcomingExam> upcoming; // not cancelled, by date and time
+        final long loadedAt = System.currentTimeMillis();
+
+        Snapshot(String name, String courseName, double balance, int enrolled, int completed, int pending,
+                List<UpcomingExam> upcoming) {
+            this.name = name;
+            this.courseName = courseName;
+            this.balance = balance;
+            this.enrolled = enrolled;
+            this.completed = completed;
+            this.pending = pending;
+            this.upcoming = Collections.unmodifiableList(upcoming);
+        }
+    }
+
+    /** The student's dashboard, from the cache when fresh. Call off the EDT. */
+    public Snapshot getSnapshot(int studentId) throws SQLException {
+        Snapshot cached = CACHE.get(studentId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt <= TTL_MS)
+            return cached;
+        long version = VERSION.get();
+        Snapshot snapshot = load(studentId);
+        synchronized (CACHE) {
+            if (VERSION.get() == version)
+                CACHE.put(studentId, snapshot);
+        }
+        return snapshot;
+    }
+
+    /** Drops the student's snapshot; call after committing a change to their enrollments or balance. */
+    public static void invalidate(int studentId) {
+        synchronized (CACHE) {
+            VERSION.incrementAndGet();
+            CACHE.remove(studentId);
+        }
+    }
+
+    /** Drops every snapshot, for changes that touch many students. */
+    public static void invalidateAll() {
+        synchronized (CACHE) {
+            VERSION.incrementAndGet();
+            CACHE.clear();
+        }
+    }
+
+    private Snapshot load(int studentId) throws SQLException {
+        String name = null;
+        String courseName = null;
+        double balance = 0.0;
+        int enrolled = 0;
+        int completed = 0;
+        int pending = 0;
+        List<UpcomingExam> upcoming = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            if (conn == null)
+                throw new SQLException("No database connection");
+            try (PreparedStatement ps = conn.prepareStatement(SELECT_DASHBOARD)) {
+                ps.setInt(1, studentId);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        name = rs.getString("name");
+                        courseName = rs.getString("course_name");
+                        balance = rs.getDouble("balance");
+                        rs.getInt("schedule_id");
+                        if (rs.wasNull())
+                            continue; // no enrollments, or one not placed in a schedule
+
+                        Date today = rs.getDate("today");
+                        Date date = rs.getDate("scheduled_date");
+                        String status = rs.getString("status");
+                        int isPaid = rs.getInt("is_paid");
+                        boolean paidKnown = !rs.wasNull();
+                        if ("Enrolled".equals(status) && date != null && !date.before(today))
+                            enrolled++;
+                        if ("Completed".equals(status) || (date != null && date.before(today)))
+                            completed++;
+                        if (paidKnown && isPaid == 0)
+                            pending++;
+
+                        String examName = rs.getString("exam_name");
+                        String roomName = rs.getString("room_name");
+                        if (status != null && !"Cancelled".equals(status) && examName != null && roomName != null)
+                            upcoming.add(new UpcomingExam(examName, date, rs.getTime("scheduled_time"), roomName,
+                                    rs.getString("duration"), status, isPaid == 1));
+                    }
+                }
+            }
+        }
+        return new Snapshot(name, courseName, balance, enrolled, completed, pending, upcoming);
+    }
+}
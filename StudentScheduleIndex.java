@@ -0,0 +1,137 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The times a student is already sitting exams, for conflict checks. Each
+ * date keeps its busy minutes as disjoint intervals in a TreeMap keyed by
+ * start minute; overlapping or touching exams are merged on add(). Whether a
+ * proposed exam overlaps anything is then one lowerEntry() lookup, O(log n),
+ * instead of a scan over every existing exam. End minutes may run past
+ * midnight (over 1440). Not thread-safe; build one per scheduling run.
+ */
+public final class StudentScheduleIndex {
+
+    // Ids per bulk query; keeps the IN list well under max_allowed_packet
+    private static final int BULK_CHUNK = 1000;
+
+    private static final String SELECT_SCHEDULES = "SELECT se.student_id, es.scheduled_date, es.scheduled_time, "
+            + SchedulingService.DURATION_MINUTES_SQL + " AS duration_minutes "
+            + "FROM student_exams se "
+            + "JOIN exam_schedules es ON se.exam_schedule_id = es.id "
+            + "JOIN exams e ON es.exam_id = e.id "
+            + "WHERE es.scheduled_date IS NOT NULL AND es.scheduled_time IS NOT NULL AND se.student_id ";
+
+    private final Map<LocalDate, TreeMap<Integer, Integer>> busy = new HashMap<>();
+    private int exams;
+
+    /** Marks [startMinute, endMinute) on the date as busy. */
+    public void add(LocalDate date, int startMinute, int endMinute) {
+        if (endMinute <= startMinute)
+            return;
+        exams++;
+        TreeMap<Integer, Integer> day = busy.computeIfAbsent(date, d -> new TreeMap<>());
+        int start = startMinute;
+        int end = endMinute;
+        Map.Entry<Integer, Integer> before = day.floorEntry(start);
+        if (before != null && before.getValue() >= start) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue());
+            day.remove(before.getKey());
+        }
+        Map.Entry<Integer, Integer> next = day.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            day.remove(next.getKey());
+            next = day.ceilingEntry(start);
+        }
+        day.put(start, end);
+    }
+
+    public void add(LocalDate date, LocalTime start, int durationMinutes) {
+        int startMinute = start.toSecondOfDay() / 60;
+        add(date, startMinute, startMinute + durationMinutes);
+    }
+
+    /** True if [startMinute, endMinute) on the date overlaps a busy interval. */
+    public boolean overlaps(LocalDate date, int startMinute, int endMinute) {
+        TreeMap<Integer, Integer> day = busy.get(date);
+        if (day == null || endMinute <= startMinute)
+            return false;
+        // Intervals are disjoint, so only the last one starting before endMinute can reach startMinute
+        Map.Entry<Integer, Integer> candidate = day.lowerEntry(endMinute);
+        return candidate != null && candidate.getValue() > startMinute;
+    }
+
+    public boolean overlaps(LocalDate date, LocalTime start, int durationMinutes) {
+        int startMinute = start.toSecondOfDay() / 60;
+        return overlaps(date, startMinute, startMinute + durationMinutes);
+    }
+
+    /** Number of exams added, before merging. */
+    public int size() {
+        return exams;
+    }
+
+    /** Loads one student's scheduled exams. */
+    public static StudentScheduleIndex load(Connection conn, int studentId) throws SQLException {
+        StudentScheduleIndex index = new StudentScheduleIndex();
+        try (PreparedStatement ps = conn.prepareStatement(SELECT_SCHEDULES + "= ?")) {
+            ps.setInt(1, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next())
+                    addRow(index, rs);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Loads the scheduled exams of many students, one query per thousand ids,
+     * for batch and what-if scheduling. Every requested student gets an index,
+     * empty if they have no exams.
+     */
+    public static Map<Integer, StudentScheduleIndex> loadAll(Connection conn, Collection<Integer> studentIds)
+            throws SQLException {
+        return loadAll(conn, studentIds, BULK_CHUNK);
+    }
+
+    // Package-private so SeatReservationCheck can force several chunks with few students
+    static Map<Integer, StudentScheduleIndex> loadAll(Connection conn, Collection<Integer> studentIds,
+            int chunkSize) throws SQLException {
+        Map<Integer, StudentScheduleIndex> indexes = new HashMap<>();
+        for (int id : studentIds)
+            indexes.putIfAbsent(id, new StudentScheduleIndex());
+        List<Integer> ids = new ArrayList<>(indexes.keySet());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            try (PreparedStatement ps = conn.prepareStatement(SELECT_SCHEDULES + "IN (" + placeholders + ")")) {
+                for (int i = 0; i < chunk.size(); i++)
+                    ps.setInt(i + 1, chunk.get(i));
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next())
+                        addRow(indexes.get(rs.getInt("student_id")), rs);
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private static void addRow(StudentScheduleIndex index, ResultSet rs) throws SQLException {
+        index.add(rs.getDate("scheduled_date").toLocalDate(), rs.getTime("scheduled_time").toLocalTime(),
+                rs.getInt("duration_minutes"));
+    }
+}
@@ -0,0 +1,194 @@
+package dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Running totals for the admin KPIs, kept in the system_counters table so the
+ * dashboard reads a handful of rows instead of COUNT(*)/SUM over students,
+ * student_exams and payments. The write paths call add() on the connection
+ * and transaction that changes the underlying rows; verify() recounts
+ * periodically and corrects any drift.
+ */
+public final class SystemCounters {
+
+    private SystemCounters() {
+    }
+
+    public static final String STUDENTS = "students";
+    public static final String SCHEDULES = "exam_schedules";
+    public static final String PENDING_ENROLLMENTS = "pending_enrollments";
+    public static final String PAID_ENROLLMENTS = "paid_enrollments";
+    public static final String REVENUE = "revenue";
+
+    // The full recount behind each counter
+    private static final Map<String, String> RECOUNT = new LinkedHashMap<>();
+    static {
+        RECOUNT.put(STUDENTS, "SELECT COUNT(*) FROM students");
+        RECOUNT.put(SCHEDULES, "SELECT COUNT(*) FROM exam_schedules");
+        RECOUNT.put(PENDING_ENROLLMENTS, "SELECT COUNT(*) FROM student_exams WHERE status='Pending'");
+        RECOUNT.put(PAID_ENROLLMENTS, "SELECT COUNT(*) FROM student_exams WHERE is_paid = 1");
+        RECOUNT.put(REVENUE, "SELECT COALESCE(SUM(amount),0) FROM payments");
+    }
+
+    private static final long VERIFY_PERIOD_MINUTES = Long.getLong("exam.counters.verifyMinutes", 30L);
+
+    private static final String ADD = "INSERT INTO system_counters (name, value) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE value = value + VALUES(value)";
+
+    private static ScheduledExecutorService verifier;
+
+    /** Adjusts one counter by delta. Call inside the transaction that made the change. */
+    public static void add(Connection conn, String name, double delta) throws SQLException {
+        if (delta == 0)
+            return;
+        try (PreparedStatement ps = conn.prepareStatement(ADD)) {
+            ps.setString(1, name);
+            ps.setDouble(2, delta);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Removes a student's enrollments and payments from the counters. Call
+     * before deleting the student, whose payments go with it by cascade.
+     */
+    public static void beforeStudentDelete(Connection conn, int studentId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT "
+                + "(SELECT COUNT(*) FROM student_exams WHERE student_id = ? AND status='Pending'), "
+                + "(SELECT COUNT(*) FROM student_exams WHERE student_id = ? AND is_paid = 1), "
+                + "(SELECT COALESCE(SUM(amount),0) FROM payments WHERE student_id = ?)")) {
+            ps.setInt(1, studentId);
+            ps.setInt(2, studentId);
+            ps.setInt(3, studentId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                add(conn, PENDING_ENROLLMENTS, -rs.getInt(1));
+                add(conn, PAID_ENROLLMENTS, -rs.getInt(2));
+                add(conn, REVENUE, -rs.getDouble(3));
+            }
+        }
+    }
+
+    /**
+     * Removes an exam's schedules and their enrollments from the counters.
+     * Call before ExamDAO.deleteExam removes them: enrollments by exam_id
+     * through the cascade, enrollments by exam_schedule_id explicitly.
+     */
+    public static void beforeExamDelete(Connection conn, int examId) throws SQLException {
+        String enrollments = "FROM student_exams se WHERE (se.exam_id = ? "
+                + "OR se.exam_schedule_id IN (SELECT id FROM exam_schedules WHERE exam_id = ?))";
+        try (PreparedStatement ps = conn.prepareStatement("SELECT "
+                + "(SELECT COUNT(*) FROM exam_schedules WHERE exam_id = ?), "
+                + "(SELECT COUNT(*) " + enrollments + " AND se.status='Pending'), "
+                + "(SELECT COUNT(*) " + enrollments + " AND se.is_paid = 1)")) {
+            for (int i = 1; i <= 5; i++)
+                ps.setInt(i, examId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                add(conn, SCHEDULES, -rs.getInt(1));
+                add(conn, PENDING_ENROLLMENTS, -rs.getInt(2));
+                add(conn, PAID_ENROLLMENTS, -rs.getInt(3));
+            }
+        }
+    }
+
+    /** Current values; names that were never initialized are absent. */
+    public static Map<String, Double> readAll(Connection conn) throws SQLException {
+        Map<String, Double> values = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement("SELECT name, value FROM system_counters");
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next())
+                values.put(rs.getString(1), rs.getDouble(2));
+        }
+        return values;
+    }
+
+    /** Creates the table and seeds every counter from a full recount. */
+    static void initialize(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("""
+                        CREATE TABLE IF NOT EXISTS system_counters (
+                            name VARCHAR(64) PRIMARY KEY,
+                            value DECIMAL(18,2) NOT NULL DEFAULT 0,
+                            updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+                        )
+                    """);
+        }
+        for (Map.Entry<String, String> e : RECOUNT.entrySet()) {
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO system_counters (name, value) SELECT ?, ("
+                    + e.getValue() + ") ON DUPLICATE KEY UPDATE value = VALUES(value)")) {
+                ps.setString(1, e.getKey());
+                ps.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * Recounts every counter and corrects the ones that drifted. The stored
+     * values and the recounts are read in one REPEATABLE READ snapshot, in
+     * which every committed add() is matched by its row change, so a
+     * difference is real drift. The correction is applied as a delta, which
+     * keeps increments committed after the snapshot. Returns how many counters
+     * were off.
+     */
+    public static int verify(Connection conn) throws SQLException {
+        boolean previousAutoCommit = conn.getAutoCommit();
+        int previousIsolation = conn.getTransactionIsolation();
+        Map<String, Double> drift = new LinkedHashMap<>();
+        try {
+            conn.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT");
+            }
+            Map<String, Double> stored = readAll(conn);
+            for (Map.Entry<String, String> e : RECOUNT.entrySet()) {
+                try (PreparedStatement ps = conn.prepareStatement(e.getValue()); ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    double actual = rs.getDouble(1);
+                    double delta = actual - stored.getOrDefault(e.getKey(), 0.0);
+                    if (Math.abs(delta) >= 0.005)
+                        drift.put(e.getKey(), delta);
+                }
+            }
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(previousAutoCommit);
+            conn.setTransactionIsolation(previousIsolation);
+        }
+        for (Map.Entry<String, Double> e : drift.entrySet()) {
+            add(conn, e.getKey(), e.getValue());
+            System.out.printf("⚠️ Counter %s drifted by %+.2f; corrected%n", e.getKey(), e.getValue());
+        }
+        return drift.size();
+    }
+
+    /** Starts the periodic verify() on a daemon thread. Safe to call more than once. */
+    public static synchronized void startVerifier() {
+        if (verifier != null || VERIFY_PERIOD_MINUTES <= 0)
+            return;
+        verifier = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "counter-verifier");
+            t.setDaemon(true);
+            return t;
+        });
+        verifier.scheduleWithFixedDelay(() -> {
+            try (Connection conn = DatabaseConnection.getConnection()) {
+                if (conn != null)
+                    verify(conn);
+            } catch (SQLException e) {
+                System.err.println("❌ Counter verification failed: " + e.getMessage());
+            }
+        }, VERIFY_PERIOD_MINUTES, VERIFY_PERIOD_MINUTES, TimeUnit.MINUTES);
+    }
+}